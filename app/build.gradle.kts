@@ -46,6 +46,8 @@ android {
         unitTests {
             isIncludeAndroidResources = true
             isReturnDefaultValues = true
+            // Benchmarks are skipped unless the build is run with -Pbenchmarks
+            all { it.systemProperty("benchmarks", project.hasProperty("benchmarks").toString()) }
         }
     }
 }
@@ -69,6 +71,7 @@ dependencies {
     // Room
     implementation("androidx.room:room-runtime:2.6.1")
     implementation("androidx.room:room-rxjava3:2.6.1")
+    implementation("androidx.room:room-paging:2.6.1")
     annotationProcessor("androidx.room:room-compiler:2.6.1")
     
     // Dagger Hilt
@@ -77,6 +80,7 @@ dependencies {
     
     // ViewModel & LiveData
     implementation("androidx.lifecycle:lifecycle-viewmodel:2.7.0")
+    implementation("androidx.lifecycle:lifecycle-viewmodel-ktx:2.7.0")
     implementation("androidx.lifecycle:lifecycle-livedata:2.7.0")
     implementation("androidx.lifecycle:lifecycle-runtime:2.7.0")
     
@@ -84,15 +88,35 @@ dependencies {
     implementation("androidx.navigation:navigation-fragment:2.7.7")
     implementation("androidx.navigation:navigation-ui:2.7.7")
     
+    // Paging
+    implementation("androidx.paging:paging-runtime:3.2.1")
+    implementation("androidx.paging:paging-rxjava3:3.2.1")
+    
     // Glide for image loading
     implementation("com.github.bumptech.glide:glide:4.16.0")
+    implementation("com.github.bumptech.glide:recyclerview-integration:4.16.0") {
+        isTransitive = false
+    }
     annotationProcessor("com.github.bumptech.glide:compiler:4.16.0")
     
+    // WorkManager with Hilt workers
+    implementation("androidx.work:work-runtime:2.9.0")
+    implementation("androidx.work:work-rxjava3:2.9.0")
+    implementation("androidx.hilt:hilt-work:1.1.0")
+    annotationProcessor("androidx.hilt:hilt-compiler:1.1.0")
+    
+    // Installs the checked-in baseline profile (src/main/baseline-prof.txt)
+    implementation("androidx.profileinstaller:profileinstaller:1.3.1")
+    
     // SwipeRefreshLayout
     implementation("androidx.swiperefreshlayout:swiperefreshlayout:1.1.0")
     
     // Testing
     testImplementation("junit:junit:4.13.2")
+    testImplementation("com.squareup.okhttp3:mockwebserver:4.12.0")
+    testImplementation("org.robolectric:robolectric:4.11.1")
+    testImplementation("androidx.test:core:1.5.0")
+    testImplementation("androidx.work:work-testing:2.9.0")
     androidTestImplementation("androidx.test.ext:junit:1.1.5")
     androidTestImplementation("androidx.test.espresso:espresso-core:3.5.1")
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.example.db.data.local;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the list screens' queries are answered from indices rather than table scans.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MovieDaoQueryPlanTest {
+    // "SCAN movies" / "SCAN TABLE movies" without an index or virtual table behind it
+    private static final Pattern BARE_SCAN = Pattern.compile("^SCAN (TABLE )?\\w+$");
+
+    private MovieDatabase database;
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, MovieDatabase.class).build();
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void feedQuery_usesCoveringIndexAndKeysOrder() {
+        List<String> plan = explain(MovieDao.FEED_MOVIES, "TRENDING");
+        assertNoBareScan(plan);
+        assertNoTempSort(plan);
+        assertTrue(plan.toString(), contains(plan, "COVERING INDEX index_feed_entries_feed_position_movieId"));
+    }
+
+    @Test
+    public void bookmarksQuery_walksBookmarkIndex() {
+        List<String> plan = explain(MovieDao.BOOKMARKED_MOVIES);
+        assertNoBareScan(plan);
+        assertNoTempSort(plan);
+        assertTrue(plan.toString(), contains(plan, "index_bookmarks_bookmarkedAt"));
+    }
+
+    @Test
+    public void movieByIdQuery_usesPrimaryKeys() {
+        List<String> plan = explain(MovieDao.MOVIE_BY_ID, 1);
+        assertNoBareScan(plan);
+    }
+
+    @Test
+    public void searchQuery_usesFullTextIndex() {
+        List<String> plan = explain(MovieDao.SEARCH_MOVIES, "star*", "title:star*", 50);
+        assertNoBareScan(plan);
+        assertTrue(plan.toString(), contains(plan, "movies_fts VIRTUAL TABLE"));
+    }
+
+    private List<String> explain(String sql, Object... args) {
+        String bindable = sql.replaceAll(":\\w+", "?");
+        List<String> details = new ArrayList<>();
+        try (Cursor cursor = database.query(new SimpleSQLiteQuery("EXPLAIN QUERY PLAN " + bindable, args))) {
+            int detailIndex = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                details.add(cursor.getString(detailIndex));
+            }
+        }
+        return details;
+    }
+
+    private static void assertNoBareScan(List<String> plan) {
+        for (String detail : plan) {
+            assertFalse("Full table scan in " + plan, BARE_SCAN.matcher(detail).matches());
+        }
+    }
+
+    private static void assertNoTempSort(List<String> plan) {
+        assertFalse("Sort without index in " + plan, contains(plan, "USE TEMP B-TREE"));
+    }
+
+    private static boolean contains(List<String> plan, String fragment) {
+        for (String detail : plan) {
+            if (detail.contains(fragment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
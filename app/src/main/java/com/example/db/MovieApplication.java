@@ -1,12 +1,44 @@
 package com.example.db;
 
 import android.app.Application;
+import android.os.Trace;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.hilt.work.HiltWorkerFactory;
+import androidx.work.Configuration;
+import com.example.db.startup.StartupInitializer;
 import dagger.hilt.android.HiltAndroidApp;
+import javax.inject.Inject;
 
+// Provides WorkManager's configuration itself (the default initializer is removed in the
+// manifest) so workers are built by Hilt. Nothing heavy is built here; StartupInitializer
+// warms the database, network stack and Glide in the background.
 @HiltAndroidApp
-public class MovieApplication extends Application {
+public class MovieApplication extends Application implements Configuration.Provider {
+    private static final String TAG = "MovieApplication";
+
+    @Inject HiltWorkerFactory workerFactory;
+    @Inject StartupInitializer startupInitializer;
+
     @Override
     public void onCreate() {
-        super.onCreate();
+        Trace.beginSection("Startup.application");
+        try {
+            super.onCreate();
+            startupInitializer.warmUp().subscribe(
+                () -> {},
+                throwable -> Log.e(TAG, "Startup warm-up failed: " + throwable.getMessage())
+            );
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    @NonNull
+    @Override
+    public Configuration getWorkManagerConfiguration() {
+        return new Configuration.Builder()
+            .setWorkerFactory(workerFactory)
+            .build();
     }
-} 
\ No newline at end of file
+}
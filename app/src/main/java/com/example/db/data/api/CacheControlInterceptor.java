@@ -0,0 +1,62 @@
+package com.example.db.data.api;
+
+import androidx.annotation.NonNull;
+import com.example.db.data.cache.CacheEndpoint;
+import com.example.db.data.cache.CachePolicies;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+// Network interceptor that lets the HTTP cache keep TMDB responses for as long as the app's
+// cache policy for that endpoint allows. TMDB's own headers are only replaced when they are
+// stricter than the policy; ETags are left alone so stale entries revalidate with a 304.
+public class CacheControlInterceptor implements Interceptor {
+    private final CachePolicies cachePolicies;
+
+    public CacheControlInterceptor(CachePolicies cachePolicies) {
+        this.cachePolicies = cachePolicies;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        CacheEndpoint endpoint = endpointFor(request.url().encodedPath());
+        if (endpoint == null || !"GET".equals(request.method())
+            || (response.code() != 200 && response.code() != 304)) {
+            return response;
+        }
+
+        long maxAgeSeconds = TimeUnit.MILLISECONDS.toSeconds(cachePolicies.policyFor(endpoint).getTtlMillis());
+        CacheControl serverCacheControl = response.cacheControl();
+        if (!serverCacheControl.noStore() && !serverCacheControl.noCache()
+            && serverCacheControl.maxAgeSeconds() >= maxAgeSeconds) {
+            return response;
+        }
+        return response.newBuilder()
+            .removeHeader("Pragma")
+            .header("Cache-Control", "public, max-age=" + maxAgeSeconds)
+            .build();
+    }
+
+    static CacheEndpoint endpointFor(String path) {
+        if (path.contains("/trending/movie/")) {
+            return CacheEndpoint.TRENDING;
+        }
+        if (path.endsWith("/movie/now_playing")) {
+            return CacheEndpoint.NOW_PLAYING;
+        }
+        if (path.endsWith("/search/movie")) {
+            return CacheEndpoint.SEARCH;
+        }
+        if (path.matches(".*/movie/\\d+")) {
+            return CacheEndpoint.DETAILS;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.db.data.api;
+
+import com.example.db.data.model.Movie;
+import com.example.db.data.model.MovieResponse;
+import io.reactivex.rxjava3.core.Single;
+
+// Sits between the repository and Retrofit so that duplicate calls from UI churn (rotation,
+// repeated refreshes) cost one round trip and one JSON parse
+public class CoalescingMovieApiService implements MovieApiService {
+    private final MovieApiService delegate;
+    private final RequestCoalescer coalescer;
+
+    public CoalescingMovieApiService(MovieApiService delegate, RequestCoalescer coalescer) {
+        this.delegate = delegate;
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public Single<MovieEntityPage> getTrendingMovies(String language, int page) {
+        return coalescer.execute(
+            "trending/movie/day?language=" + language + "&page=" + page,
+            () -> delegate.getTrendingMovies(language, page)
+        );
+    }
+
+    @Override
+    public Single<MovieEntityPage> getNowPlayingMovies(String language, int page) {
+        return coalescer.execute(
+            "movie/now_playing?language=" + language + "&page=" + page,
+            () -> delegate.getNowPlayingMovies(language, page)
+        );
+    }
+
+    // Refreshes share an identical refresh already in flight but never a memoized result
+    @Override
+    public Single<MovieEntityPage> refreshTrendingMovies(String language, int page) {
+        return coalescer.executeFresh(
+            "trending/movie/day?language=" + language + "&page=" + page,
+            () -> delegate.refreshTrendingMovies(language, page)
+        );
+    }
+
+    @Override
+    public Single<MovieEntityPage> refreshNowPlayingMovies(String language, int page) {
+        return coalescer.executeFresh(
+            "movie/now_playing?language=" + language + "&page=" + page,
+            () -> delegate.refreshNowPlayingMovies(language, page)
+        );
+    }
+
+    @Override
+    public Single<MovieResponse> searchMovies(String query, String language, int page, boolean includeAdult) {
+        return coalescer.execute(
+            "search/movie?query=" + query + "&language=" + language + "&page=" + page + "&include_adult=" + includeAdult,
+            () -> delegate.searchMovies(query, language, page, includeAdult)
+        );
+    }
+
+    @Override
+    public Single<Movie> getMovieDetails(int movieId, String language) {
+        return coalescer.execute(
+            "movie/" + movieId + "?language=" + language,
+            () -> delegate.getMovieDetails(movieId, language)
+        );
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.db.data.api;
+
+import androidx.annotation.NonNull;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+// Application interceptor that classifies every completed call: served from the HTTP cache,
+// revalidated with a 304, or fetched in full from the network
+public class HttpCacheMetrics implements Interceptor {
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong conditionalHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Response response = chain.proceed(chain.request());
+        Response networkResponse = response.networkResponse();
+        if (response.cacheResponse() != null) {
+            if (networkResponse == null) {
+                hits.incrementAndGet();
+            } else if (networkResponse.code() == 304) {
+                conditionalHits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+            }
+        } else if (networkResponse != null) {
+            misses.incrementAndGet();
+        }
+        return response;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getConditionalHits() {
+        return conditionalHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
@@ -4,18 +4,35 @@ import com.example.db.data.model.Movie;
 import com.example.db.data.model.MovieResponse;
 import io.reactivex.rxjava3.core.Single;
 import retrofit2.http.GET;
+import retrofit2.http.Headers;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
 
 public interface MovieApiService {
     @GET("trending/movie/day")
-    Single<MovieResponse> getTrendingMovies(
+    Single<MovieEntityPage> getTrendingMovies(
         @Query("language") String language,
         @Query("page") int page
     );
 
     @GET("movie/now_playing")
-    Single<MovieResponse> getNowPlayingMovies(
+    Single<MovieEntityPage> getNowPlayingMovies(
+        @Query("language") String language,
+        @Query("page") int page
+    );
+
+    // The same first pages for an explicit refresh: no-cache makes OkHttp revalidate with TMDB
+    // instead of answering from an HTTP cache entry that is still within its max-age
+    @GET("trending/movie/day")
+    @Headers("Cache-Control: no-cache")
+    Single<MovieEntityPage> refreshTrendingMovies(
+        @Query("language") String language,
+        @Query("page") int page
+    );
+
+    @GET("movie/now_playing")
+    @Headers("Cache-Control: no-cache")
+    Single<MovieEntityPage> refreshNowPlayingMovies(
         @Query("language") String language,
         @Query("page") int page
     );
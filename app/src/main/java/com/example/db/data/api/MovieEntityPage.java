@@ -0,0 +1,36 @@
+package com.example.db.data.api;
+
+import com.example.db.data.local.MovieEntity;
+import java.util.List;
+
+// A TMDB list page decoded straight into Room rows. Feed pages are stored, never shown as they
+// arrive, so they skip the domain model entirely.
+public class MovieEntityPage {
+    private final int page;
+    private final List<MovieEntity> results;
+    private final int totalPages;
+    private final int totalResults;
+
+    public MovieEntityPage(int page, List<MovieEntity> results, int totalPages, int totalResults) {
+        this.page = page;
+        this.results = results;
+        this.totalPages = totalPages;
+        this.totalResults = totalResults;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public List<MovieEntity> getResults() {
+        return results;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public int getTotalResults() {
+        return totalResults;
+    }
+}
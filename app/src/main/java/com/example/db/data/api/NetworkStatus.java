@@ -0,0 +1,6 @@
+package com.example.db.data.api;
+
+// Answers whether a usable network is currently available
+public interface NetworkStatus {
+    boolean isOnline();
+}
@@ -0,0 +1,46 @@
+package com.example.db.data.api;
+
+import androidx.annotation.NonNull;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+// Without connectivity, or while offline mode is forced, requests are answered from the HTTP
+// cache only, accepting stale entries up to maxStale. OkHttp returns a 504 when nothing is
+// cached, which surfaces as a normal request failure.
+public class OfflineCacheInterceptor implements Interceptor {
+    private final NetworkStatus networkStatus;
+    private final int maxStaleSeconds;
+    private volatile boolean forcedOffline;
+
+    public OfflineCacheInterceptor(NetworkStatus networkStatus, long maxStale, TimeUnit unit) {
+        this.networkStatus = networkStatus;
+        this.maxStaleSeconds = (int) unit.toSeconds(maxStale);
+    }
+
+    public void setForcedOffline(boolean forcedOffline) {
+        this.forcedOffline = forcedOffline;
+    }
+
+    public boolean isForcedOffline() {
+        return forcedOffline;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        if (forcedOffline || !networkStatus.isOnline()) {
+            request = request.newBuilder()
+                .cacheControl(new CacheControl.Builder()
+                    .onlyIfCached()
+                    .maxStale(maxStaleSeconds, TimeUnit.SECONDS)
+                    .build())
+                .build();
+        }
+        return chain.proceed(request);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.db.data.api;
+
+import io.reactivex.rxjava3.core.Single;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Single-flight for API calls: identical requests issued while one is in flight share its
+// upstream Single, and a successful result is replayed for a short memo window afterwards.
+// Failures are never memoized, so the next caller retries. When every caller of an in-flight
+// request has gone away (a superseded search), the upstream is disposed, which cancels the call.
+public class RequestCoalescer {
+    private static final String FRESH_PREFIX = "fresh:";
+
+    private final long memoWindowMillis;
+    private final Map<String, Entry<?>> entries = new HashMap<>();
+    private final AtomicLong upstreamCalls = new AtomicLong();
+    private final AtomicLong coalescedHits = new AtomicLong();
+    private final AtomicLong abandonedCalls = new AtomicLong();
+
+    public RequestCoalescer(long memoWindowMillis) {
+        this.memoWindowMillis = memoWindowMillis;
+    }
+
+    public <T> Single<T> execute(String key, Callable<Single<T>> upstream) {
+        return execute(key, upstream, true);
+    }
+
+    // For explicit refreshes: joins an identical refresh in flight, but neither reads nor leaves
+    // a memoized result. Kept apart from execute()'s entries, which may have come from a cache.
+    public <T> Single<T> executeFresh(String key, Callable<Single<T>> upstream) {
+        return execute(FRESH_PREFIX + key, upstream, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Single<T> execute(String key, Callable<Single<T>> upstream, boolean memoize) {
+        return Single.defer(() -> {
+            synchronized (entries) {
+                Entry<?> existing = entries.get(key);
+                if (existing != null && existing.isLive(System.currentTimeMillis(), memoWindowMillis)) {
+                    coalescedHits.incrementAndGet();
+                    return existing.completedAt != 0
+                        ? Single.just((T) existing.value)
+                        : (Single<T>) existing.shared;
+                }
+                evictExpired();
+                Entry<T> entry = new Entry<>();
+                // refCount rather than cache(): cache() keeps the call running after its last caller leaves
+                entry.shared = upstream.call()
+                    .doOnSuccess(value -> {
+                        entry.value = value;
+                        entry.completedAt = System.currentTimeMillis();
+                        if (!memoize) {
+                            remove(key, entry);
+                        }
+                    })
+                    .doOnError(error -> remove(key, entry))
+                    .doOnDispose(() -> {
+                        if (entry.completedAt == 0 && remove(key, entry)) {
+                            abandonedCalls.incrementAndGet();
+                        }
+                    })
+                    .toObservable()
+                    .replay(1)
+                    .refCount()
+                    .singleOrError();
+                entries.put(key, entry);
+                upstreamCalls.incrementAndGet();
+                return entry.shared;
+            }
+        });
+    }
+
+    // Called with the lock held; keeps finished entries from piling up once their window closes
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Entry<?>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (!iterator.next().isLive(now, memoWindowMillis)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private boolean remove(String key, Entry<?> entry) {
+        synchronized (entries) {
+            if (entries.get(key) == entry) {
+                entries.remove(key);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    public long getUpstreamCalls() {
+        return upstreamCalls.get();
+    }
+
+    public long getCoalescedHits() {
+        return coalescedHits.get();
+    }
+
+    public long getAbandonedCalls() {
+        return abandonedCalls.get();
+    }
+
+    private static class Entry<T> {
+        Single<T> shared;
+        T value;
+        // 0 while the request is in flight
+        volatile long completedAt;
+
+        boolean isLive(long now, long memoWindowMillis) {
+            long completed = completedAt;
+            return completed == 0 || now - completed < memoWindowMillis;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.db.data.api.json;
+
+import com.example.db.data.api.MovieEntityPage;
+import com.example.db.data.local.MovieEntity;
+import java.util.List;
+
+public class MovieEntityPageTypeAdapter extends TmdbPageAdapter<MovieEntity, MovieEntityPage> {
+
+    public MovieEntityPageTypeAdapter(MovieEntityTypeAdapter entityAdapter) {
+        super(entityAdapter);
+    }
+
+    @Override
+    protected MovieEntityPage create(int page, List<MovieEntity> results, int totalPages, int totalResults) {
+        return new MovieEntityPage(page, results, totalPages, totalResults);
+    }
+
+    @Override
+    protected int page(MovieEntityPage response) {
+        return response.getPage();
+    }
+
+    @Override
+    protected List<MovieEntity> results(MovieEntityPage response) {
+        return response.getResults();
+    }
+
+    @Override
+    protected int totalPages(MovieEntityPage response) {
+        return response.getTotalPages();
+    }
+
+    @Override
+    protected int totalResults(MovieEntityPage response) {
+        return response.getTotalResults();
+    }
+}
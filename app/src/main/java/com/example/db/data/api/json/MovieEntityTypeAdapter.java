@@ -0,0 +1,26 @@
+package com.example.db.data.api.json;
+
+import com.example.db.data.local.MovieEntity;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+// Decodes TMDB movies straight into Room rows, for feed pages that are only ever stored
+public class MovieEntityTypeAdapter extends TmdbMovieAdapter<MovieEntity> {
+
+    @Override
+    protected MovieEntity create(int id, String title, String overview, String posterPath,
+                                 String backdropPath, String releaseDate, double voteAverage) {
+        return new MovieEntity(id, title, overview, posterPath, backdropPath, releaseDate, voteAverage);
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, MovieEntity movie) throws IOException {
+        out.name("id").value(movie.getId());
+        out.name("title").value(movie.getTitle());
+        out.name("overview").value(movie.getOverview());
+        out.name("poster_path").value(movie.getPosterPath());
+        out.name("backdrop_path").value(movie.getBackdropPath());
+        out.name("release_date").value(movie.getReleaseDate());
+        out.name("vote_average").value(movie.getVoteAverage());
+    }
+}
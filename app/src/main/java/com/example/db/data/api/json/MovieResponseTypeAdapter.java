@@ -0,0 +1,37 @@
+package com.example.db.data.api.json;
+
+import com.example.db.data.model.Movie;
+import com.example.db.data.model.MovieResponse;
+import java.util.List;
+
+public class MovieResponseTypeAdapter extends TmdbPageAdapter<Movie, MovieResponse> {
+
+    public MovieResponseTypeAdapter(MovieTypeAdapter movieAdapter) {
+        super(movieAdapter);
+    }
+
+    @Override
+    protected MovieResponse create(int page, List<Movie> results, int totalPages, int totalResults) {
+        return new MovieResponse(page, results, totalPages, totalResults);
+    }
+
+    @Override
+    protected int page(MovieResponse response) {
+        return response.getPage();
+    }
+
+    @Override
+    protected List<Movie> results(MovieResponse response) {
+        return response.getResults();
+    }
+
+    @Override
+    protected int totalPages(MovieResponse response) {
+        return response.getTotalPages();
+    }
+
+    @Override
+    protected int totalResults(MovieResponse response) {
+        return response.getTotalResults();
+    }
+}
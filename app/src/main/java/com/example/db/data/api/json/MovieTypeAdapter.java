@@ -0,0 +1,26 @@
+package com.example.db.data.api.json;
+
+import com.example.db.data.model.Movie;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+// Decodes TMDB movies into the domain model, for responses shown directly (search, details)
+public class MovieTypeAdapter extends TmdbMovieAdapter<Movie> {
+
+    @Override
+    protected Movie create(int id, String title, String overview, String posterPath,
+                           String backdropPath, String releaseDate, double voteAverage) {
+        return new Movie(id, title, overview, posterPath, backdropPath, releaseDate, voteAverage);
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, Movie movie) throws IOException {
+        out.name("id").value(movie.getId());
+        out.name("title").value(movie.getTitle());
+        out.name("overview").value(movie.getOverview());
+        out.name("poster_path").value(movie.getPosterPath());
+        out.name("backdrop_path").value(movie.getBackdropPath());
+        out.name("release_date").value(movie.getReleaseDate());
+        out.name("vote_average").value(movie.getVoteAverage());
+    }
+}
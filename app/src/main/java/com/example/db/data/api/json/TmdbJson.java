@@ -0,0 +1,32 @@
+package com.example.db.data.api.json;
+
+import com.example.db.data.api.MovieEntityPage;
+import com.example.db.data.local.MovieEntity;
+import com.example.db.data.model.Movie;
+import com.example.db.data.model.MovieResponse;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import retrofit2.Converter;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+// Gson set up with the streaming TMDB adapters, so API models never fall back to reflection
+public final class TmdbJson {
+
+    private TmdbJson() {
+    }
+
+    public static Gson gson() {
+        MovieTypeAdapter movieAdapter = new MovieTypeAdapter();
+        MovieEntityTypeAdapter entityAdapter = new MovieEntityTypeAdapter();
+        return new GsonBuilder()
+            .registerTypeAdapter(Movie.class, movieAdapter)
+            .registerTypeAdapter(MovieResponse.class, new MovieResponseTypeAdapter(movieAdapter))
+            .registerTypeAdapter(MovieEntity.class, entityAdapter)
+            .registerTypeAdapter(MovieEntityPage.class, new MovieEntityPageTypeAdapter(entityAdapter))
+            .create();
+    }
+
+    public static Converter.Factory converterFactory() {
+        return GsonConverterFactory.create(gson());
+    }
+}
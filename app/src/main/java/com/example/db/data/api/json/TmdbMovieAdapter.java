@@ -0,0 +1,92 @@
+package com.example.db.data.api.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+// Streams a TMDB movie object into whatever representation the caller stores it as. Only the
+// mapped fields are read; every other field is skipped token by token without building a tree
+// or reflecting over the class.
+public abstract class TmdbMovieAdapter<T> extends TypeAdapter<T> {
+
+    protected abstract T create(int id, String title, String overview, String posterPath,
+                                String backdropPath, String releaseDate, double voteAverage);
+
+    protected abstract void writeFields(JsonWriter out, T movie) throws IOException;
+
+    @Override
+    public T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        int id = 0;
+        String title = null;
+        String overview = null;
+        String posterPath = null;
+        String backdropPath = null;
+        String releaseDate = null;
+        double voteAverage = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    id = in.nextInt();
+                    break;
+                case "title":
+                    title = nextStringOrNull(in);
+                    break;
+                case "overview":
+                    overview = nextStringOrNull(in);
+                    break;
+                case "poster_path":
+                    posterPath = nextStringOrNull(in);
+                    break;
+                case "backdrop_path":
+                    backdropPath = nextStringOrNull(in);
+                    break;
+                case "release_date":
+                    releaseDate = nextStringOrNull(in);
+                    break;
+                case "vote_average":
+                    voteAverage = nextDoubleOrZero(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return create(id, title, overview, posterPath, backdropPath, releaseDate, voteAverage);
+    }
+
+    @Override
+    public void write(JsonWriter out, T movie) throws IOException {
+        if (movie == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        writeFields(out, movie);
+        out.endObject();
+    }
+
+    private static String nextStringOrNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    private static double nextDoubleOrZero(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextDouble();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.db.data.api.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streams a paged TMDB list response, decoding each result with the item adapter as it is read
+public abstract class TmdbPageAdapter<T, P> extends TypeAdapter<P> {
+    // TMDB list endpoints return 20 results per page
+    private static final int EXPECTED_RESULTS = 20;
+
+    private final TypeAdapter<T> itemAdapter;
+
+    protected TmdbPageAdapter(TypeAdapter<T> itemAdapter) {
+        this.itemAdapter = itemAdapter;
+    }
+
+    protected abstract P create(int page, List<T> results, int totalPages, int totalResults);
+
+    protected abstract int page(P page);
+
+    protected abstract List<T> results(P page);
+
+    protected abstract int totalPages(P page);
+
+    protected abstract int totalResults(P page);
+
+    @Override
+    public P read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        int page = 0;
+        List<T> results = null;
+        int totalPages = 0;
+        int totalResults = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "page":
+                    page = in.nextInt();
+                    break;
+                case "results":
+                    results = readResults(in);
+                    break;
+                case "total_pages":
+                    totalPages = in.nextInt();
+                    break;
+                case "total_results":
+                    totalResults = in.nextInt();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return create(page, results, totalPages, totalResults);
+    }
+
+    private List<T> readResults(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<T> results = new ArrayList<>(EXPECTED_RESULTS);
+        in.beginArray();
+        while (in.hasNext()) {
+            T item = itemAdapter.read(in);
+            if (item != null) {
+                results.add(item);
+            }
+        }
+        in.endArray();
+        return results;
+    }
+
+    @Override
+    public void write(JsonWriter out, P value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("page").value(page(value));
+        out.name("results");
+        List<T> results = results(value);
+        if (results == null) {
+            out.nullValue();
+        } else {
+            out.beginArray();
+            for (T item : results) {
+                itemAdapter.write(out, item);
+            }
+            out.endArray();
+        }
+        out.name("total_pages").value(totalPages(value));
+        out.name("total_results").value(totalResults(value));
+        out.endObject();
+    }
+}
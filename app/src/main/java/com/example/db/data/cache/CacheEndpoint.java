@@ -0,0 +1,8 @@
+package com.example.db.data.cache;
+
+public enum CacheEndpoint {
+    TRENDING,
+    NOW_PLAYING,
+    SEARCH,
+    DETAILS
+}
@@ -0,0 +1,34 @@
+package com.example.db.data.cache;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class CachePolicies {
+    private final Map<CacheEndpoint, CachePolicy> policies;
+
+    private CachePolicies(Map<CacheEndpoint, CachePolicy> policies) {
+        this.policies = policies;
+    }
+
+    public CachePolicy policyFor(CacheEndpoint endpoint) {
+        return policies.get(endpoint);
+    }
+
+    public static class Builder {
+        private final Map<CacheEndpoint, CachePolicy> policies = new EnumMap<>(CacheEndpoint.class);
+
+        public Builder put(CacheEndpoint endpoint, CachePolicy policy) {
+            policies.put(endpoint, policy);
+            return this;
+        }
+
+        public CachePolicies build() {
+            for (CacheEndpoint endpoint : CacheEndpoint.values()) {
+                if (!policies.containsKey(endpoint)) {
+                    throw new IllegalStateException("No cache policy configured for " + endpoint);
+                }
+            }
+            return new CachePolicies(new EnumMap<>(policies));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.db.data.cache;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Freshness rules for one cached endpoint. Rows younger than the TTL are served as-is,
+ * rows past the TTL are served and revalidated in the background, and rows past the
+ * hard expiry are not served until the network has been tried.
+ */
+public class CachePolicy {
+    private final long ttlMillis;
+    private final long hardExpiryMillis;
+
+    public CachePolicy(long ttlMillis, long hardExpiryMillis) {
+        if (ttlMillis < 0 || hardExpiryMillis < ttlMillis) {
+            throw new IllegalArgumentException("Invalid cache policy: ttl=" + ttlMillis + ", hardExpiry=" + hardExpiryMillis);
+        }
+        this.ttlMillis = ttlMillis;
+        this.hardExpiryMillis = hardExpiryMillis;
+    }
+
+    public static CachePolicy of(long ttl, long hardExpiry, TimeUnit unit) {
+        return new CachePolicy(unit.toMillis(ttl), unit.toMillis(hardExpiry));
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    public long getHardExpiryMillis() {
+        return hardExpiryMillis;
+    }
+
+    public CacheState evaluate(long fetchedAt, long rowTtlMillis, long now) {
+        long age = now - fetchedAt;
+        if (fetchedAt <= 0 || age >= hardExpiryMillis) {
+            return CacheState.EXPIRED;
+        }
+        return age < rowTtlMillis ? CacheState.FRESH : CacheState.STALE;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.db.data.cache;
+
+public enum CacheState {
+    FRESH,
+    STALE,
+    EXPIRED
+}
@@ -0,0 +1,114 @@
+package com.example.db.data.images;
+
+import android.util.Log;
+import androidx.annotation.Nullable;
+import com.example.db.data.model.Movie;
+import com.example.db.util.AppLog;
+import io.reactivex.rxjava3.core.Completable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+import okio.Okio;
+
+// Keeps the artwork of bookmarked movies in app-private storage, outside every LRU cache, so the
+// bookmarks screen renders without a network. Files are written once and removed on unbookmark.
+public class PinnedImageStore {
+    private static final String TAG = "PinnedImageStore";
+    // Large enough that Glide only ever scales down: w500 covers the two-column grid and the
+    // details poster, w780 the details backdrop
+    static final int POSTER_WIDTH = 500;
+    static final int BACKDROP_WIDTH = 780;
+
+    private final File directory;
+    private final OkHttpClient client;
+    private final String baseUrl;
+
+    public PinnedImageStore(File directory, OkHttpClient client, String baseUrl) {
+        this.directory = directory;
+        this.client = client;
+        this.baseUrl = baseUrl;
+    }
+
+    // Downloads whatever artwork the movie has and is not pinned yet
+    public Completable pin(Movie movie) {
+        return Completable.fromAction(() -> {
+            download(TmdbImage.poster(movie.getPosterPath()), POSTER_WIDTH);
+            download(TmdbImage.backdrop(movie.getBackdropPath()), BACKDROP_WIDTH);
+        });
+    }
+
+    public Completable unpin(Movie movie) {
+        return Completable.fromAction(() -> {
+            delete(TmdbImage.poster(movie.getPosterPath()));
+            delete(TmdbImage.backdrop(movie.getBackdropPath()));
+        });
+    }
+
+    // Null when the image is not pinned. Called from Glide's worker threads.
+    @Nullable
+    public File fileFor(@Nullable TmdbImage image) {
+        if (image == null) {
+            return null;
+        }
+        File file = fileOf(image);
+        return file.isFile() ? file : null;
+    }
+
+    public long sizeBytes() {
+        File[] files = directory.listFiles();
+        long total = 0;
+        if (files != null) {
+            for (File file : files) {
+                total += file.length();
+            }
+        }
+        return total;
+    }
+
+    private void download(@Nullable TmdbImage image, int width) throws IOException {
+        if (image == null || fileFor(image) != null) {
+            return;
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        String url = baseUrl + TmdbImageSizes.bucketFor(image.getKind(), width) + image.getPath();
+        Request request = new Request.Builder().url(url).build();
+        try (Response response = client.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                throw new IOException("HTTP " + response.code() + " for " + image);
+            }
+            // Written beside the target and renamed, so Glide never reads a partial file
+            File target = fileOf(image);
+            File partial = new File(directory, target.getName() + ".part");
+            try (BufferedSink sink = Okio.buffer(Okio.sink(partial))) {
+                sink.writeAll(body.source());
+            }
+            if (!partial.renameTo(target)) {
+                partial.delete();
+                throw new IOException("Cannot move " + partial + " into place");
+            }
+        }
+        if (AppLog.isLoggable(Log.DEBUG)) {
+            Log.d(TAG, "Pinned " + image);
+        }
+    }
+
+    private void delete(@Nullable TmdbImage image) {
+        if (image != null && fileOf(image).delete()) {
+            AppLog.d(TAG, "Unpinned image");
+        }
+    }
+
+    // TMDB paths are a single segment such as "/kqjL17yufvn9OVLyXYpvtyrFfak.jpg"
+    private File fileOf(TmdbImage image) {
+        String name = image.getPath().replace('/', '_');
+        return new File(directory, image.getKind().name().toLowerCase(Locale.ROOT) + name);
+    }
+}
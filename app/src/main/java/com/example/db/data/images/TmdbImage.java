@@ -0,0 +1,58 @@
+package com.example.db.data.images;
+
+import androidx.annotation.Nullable;
+
+// Glide model for a TMDB image path. The URL is only resolved once the target size is known,
+// so the same model loads a small bucket into a list cell and a large one on the details screen.
+public final class TmdbImage {
+    public enum Kind {
+        POSTER,
+        BACKDROP
+    }
+
+    private final String path;
+    private final Kind kind;
+
+    private TmdbImage(String path, Kind kind) {
+        this.path = path;
+        this.kind = kind;
+    }
+
+    // Null when the movie has no poster, which Glide shows as the error drawable
+    @Nullable
+    public static TmdbImage poster(@Nullable String path) {
+        return path != null ? new TmdbImage(path, Kind.POSTER) : null;
+    }
+
+    @Nullable
+    public static TmdbImage backdrop(@Nullable String path) {
+        return path != null ? new TmdbImage(path, Kind.BACKDROP) : null;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    // Glide keys its memory and disk caches on model equality
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TmdbImage image = (TmdbImage) o;
+        return kind == image.kind && path.equals(image.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * path.hashCode() + kind.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return kind + ":" + path;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.db.data.images;
+
+// TMDB's fixed image widths (configuration/images in the API). Each request picks the smallest
+// bucket at least as wide as the target, so a 180px cell downloads w185 rather than w500.
+public final class TmdbImageSizes {
+    public static final String BASE_URL = "https://image.tmdb.org/t/p/";
+    public static final String ORIGINAL = "original";
+
+    private static final int[] POSTER_WIDTHS = {92, 154, 185, 342, 500, 780};
+    private static final int[] BACKDROP_WIDTHS = {300, 780, 1280};
+
+    private TmdbImageSizes() {
+    }
+
+    // A width of zero or less (Target.SIZE_ORIGINAL) asks for the original upload
+    public static String bucketFor(TmdbImage.Kind kind, int width) {
+        if (width <= 0) {
+            return ORIGINAL;
+        }
+        int[] widths = kind == TmdbImage.Kind.POSTER ? POSTER_WIDTHS : BACKDROP_WIDTHS;
+        for (int bucket : widths) {
+            if (bucket >= width) {
+                return "w" + bucket;
+            }
+        }
+        return ORIGINAL;
+    }
+
+    public static String urlFor(TmdbImage image, int width) {
+        return BASE_URL + bucketFor(image.getKind(), width) + image.getPath();
+    }
+}
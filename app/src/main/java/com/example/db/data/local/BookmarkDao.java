@@ -0,0 +1,22 @@
+package com.example.db.data.local;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import java.util.List;
+
+@Dao
+public interface BookmarkDao {
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertBookmark(BookmarkEntity bookmark);
+
+    @Query("DELETE FROM bookmarks WHERE movieId = :movieId")
+    void deleteBookmark(int movieId);
+
+    @Query("SELECT EXISTS(SELECT 1 FROM bookmarks WHERE movieId = :movieId)")
+    boolean isBookmarked(int movieId);
+
+    @Query("SELECT movieId FROM bookmarks")
+    List<Integer> getBookmarkedIds();
+}
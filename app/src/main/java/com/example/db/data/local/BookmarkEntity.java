@@ -0,0 +1,33 @@
+package com.example.db.data.local;
+
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+@Entity(tableName = "bookmarks", indices = {@Index(value = {"bookmarkedAt"})})
+public class BookmarkEntity {
+    @PrimaryKey
+    private int movieId;
+    private long bookmarkedAt;
+
+    public BookmarkEntity(int movieId, long bookmarkedAt) {
+        this.movieId = movieId;
+        this.bookmarkedAt = bookmarkedAt;
+    }
+
+    public int getMovieId() {
+        return movieId;
+    }
+
+    public void setMovieId(int movieId) {
+        this.movieId = movieId;
+    }
+
+    public long getBookmarkedAt() {
+        return bookmarkedAt;
+    }
+
+    public void setBookmarkedAt(long bookmarkedAt) {
+        this.bookmarkedAt = bookmarkedAt;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.db.data.local;
+
+import com.example.db.util.AppSchedulers;
+import com.example.db.util.IntHashSet;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import io.reactivex.rxjava3.subjects.Subject;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+// Ids of every bookmarked movie, loaded once from Room and kept current by the repository
+// after each bookmark write commits. Cells read their bookmark state from here and rebind on
+// changes(), so toggling a bookmark does not re-run the feed queries.
+//
+// Writers copy the set and publish the copy, so reads on the main thread never lock. The load
+// and every bookmark write run on the database writer, which keeps them in commit order.
+@Singleton
+public class BookmarkIndex {
+    private final BookmarkDao bookmarkDao;
+    private final AppSchedulers schedulers;
+    private final Subject<Change> changes = PublishSubject.<Change>create().toSerialized();
+    private volatile IntHashSet ids;
+
+    @Inject
+    public BookmarkIndex(BookmarkDao bookmarkDao, AppSchedulers schedulers) {
+        this.bookmarkDao = bookmarkDao;
+        this.schedulers = schedulers;
+    }
+
+    public Completable load() {
+        return Completable.fromAction(() -> {
+                List<Integer> stored = bookmarkDao.getBookmarkedIds();
+                IntHashSet loaded = new IntHashSet(stored.size());
+                for (int id : stored) {
+                    loaded.add(id);
+                }
+                synchronized (this) {
+                    ids = loaded;
+                }
+                changes.onNext(Change.RELOADED);
+            })
+            .subscribeOn(schedulers.databaseWrite());
+    }
+
+    public boolean isLoaded() {
+        return ids != null;
+    }
+
+    public boolean contains(int movieId) {
+        IntHashSet current = ids;
+        return current != null && current.contains(movieId);
+    }
+
+    public int size() {
+        IntHashSet current = ids;
+        return current != null ? current.size() : 0;
+    }
+
+    // Called once the bookmark write has committed
+    public void set(int movieId, boolean bookmarked) {
+        synchronized (this) {
+            if (ids == null || ids.contains(movieId) == bookmarked) {
+                return;
+            }
+            IntHashSet updated = new IntHashSet(ids);
+            if (bookmarked) {
+                updated.add(movieId);
+            } else {
+                updated.remove(movieId);
+            }
+            ids = updated;
+        }
+        changes.onNext(new Change(movieId, bookmarked));
+    }
+
+    // Hot; delivered on the main thread
+    public Observable<Change> changes() {
+        return changes.observeOn(schedulers.main());
+    }
+
+    public static final class Change {
+        // Every movie may have changed, as when the index first loads
+        static final Change RELOADED = new Change(-1, false);
+
+        private final int movieId;
+        private final boolean bookmarked;
+
+        Change(int movieId, boolean bookmarked) {
+            this.movieId = movieId;
+            this.bookmarked = bookmarked;
+        }
+
+        public boolean isReload() {
+            return this == RELOADED;
+        }
+
+        public int getMovieId() {
+            return movieId;
+        }
+
+        public boolean isBookmarked() {
+            return bookmarked;
+        }
+    }
+}
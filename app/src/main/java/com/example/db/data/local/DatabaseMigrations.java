@@ -0,0 +1,116 @@
+package com.example.db.data.local;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+// Every upgrade path from the first release. The DDL matches what Room generates for the
+// entities at each version, since Room validates the migrated schema against them.
+public final class DatabaseMigrations {
+
+    private DatabaseMigrations() {
+    }
+
+    // Cache timestamps; existing rows start out expired and are refetched on first use
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `movies` ADD COLUMN `fetchedAt` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `movies` ADD COLUMN `ttlMillis` INTEGER NOT NULL DEFAULT 0");
+        }
+    };
+
+    // Full-text index over the existing rows
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `movies_fts` USING FTS4("
+                + "`title` TEXT, `overview` TEXT, content=`movies`)");
+            createFtsTriggers(db);
+            db.execSQL("INSERT INTO `movies_fts`(`movies_fts`) VALUES ('rebuild')");
+        }
+    };
+
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `movies` ADD COLUMN `position` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `feed_page_keys` (`feed` TEXT NOT NULL, `nextPage` INTEGER, "
+                + "`totalPages` INTEGER NOT NULL, `refreshedAt` INTEGER NOT NULL, PRIMARY KEY(`feed`))");
+        }
+    };
+
+    // The isBookmarked, isTrending and position columns become rows in bookmarks and
+    // feed_entries. SQLite before 3.35 cannot drop columns, so movies is rebuilt without them.
+    // Now Playing never had a flag of its own, and "neither trending nor bookmarked" also takes in
+    // cached search results. That feed starts empty and loses its page key, so it is refetched.
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `bookmarks` (`movieId` INTEGER NOT NULL, "
+                + "`bookmarkedAt` INTEGER NOT NULL, PRIMARY KEY(`movieId`))");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `feed_entries` (`feed` TEXT NOT NULL, `movieId` INTEGER NOT NULL, "
+                + "`position` INTEGER NOT NULL, `fetchedAt` INTEGER NOT NULL, PRIMARY KEY(`feed`, `movieId`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_feed_entries_feed_position` "
+                + "ON `feed_entries` (`feed`, `position`)");
+
+            // The old flags carry no bookmark time, so existing bookmarks all get the upgrade time
+            db.execSQL("INSERT OR IGNORE INTO `bookmarks` (`movieId`, `bookmarkedAt`) "
+                + "SELECT `id`, CAST(strftime('%s', 'now') AS INTEGER) * 1000 FROM `movies` WHERE `isBookmarked` = 1");
+            db.execSQL("INSERT OR IGNORE INTO `feed_entries` (`feed`, `movieId`, `position`, `fetchedAt`) "
+                + "SELECT '" + Feed.TRENDING.name() + "', `id`, `position`, `fetchedAt` FROM `movies` "
+                + "WHERE `isTrending` = 1");
+            db.execSQL("DELETE FROM `feed_page_keys` WHERE `feed` = '" + Feed.NOW_PLAYING.name() + "'");
+
+            db.execSQL("CREATE TABLE IF NOT EXISTS `movies_new` (`id` INTEGER NOT NULL, `title` TEXT, "
+                + "`overview` TEXT, `posterPath` TEXT, `backdropPath` TEXT, `releaseDate` TEXT, "
+                + "`voteAverage` REAL NOT NULL, `fetchedAt` INTEGER NOT NULL, `ttlMillis` INTEGER NOT NULL, "
+                + "PRIMARY KEY(`id`))");
+            db.execSQL("INSERT INTO `movies_new` (`id`, `title`, `overview`, `posterPath`, `backdropPath`, "
+                + "`releaseDate`, `voteAverage`, `fetchedAt`, `ttlMillis`) "
+                + "SELECT `id`, `title`, `overview`, `posterPath`, `backdropPath`, `releaseDate`, `voteAverage`, "
+                + "`fetchedAt`, `ttlMillis` FROM `movies`");
+            // Dropping movies also drops the triggers that fed the full-text index
+            db.execSQL("DROP TABLE `movies`");
+            db.execSQL("ALTER TABLE `movies_new` RENAME TO `movies`");
+            createFtsTriggers(db);
+            db.execSQL("INSERT INTO `movies_fts`(`movies_fts`) VALUES ('rebuild')");
+        }
+    };
+
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("DROP INDEX IF EXISTS `index_feed_entries_feed_position`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_feed_entries_feed_position_movieId` "
+                + "ON `feed_entries` (`feed`, `position`, `movieId`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_bookmarks_bookmarkedAt` ON `bookmarks` (`bookmarkedAt`)");
+        }
+    };
+
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `movie_access` (`movieId` INTEGER NOT NULL, "
+                + "`lastAccessedAt` INTEGER NOT NULL, PRIMARY KEY(`movieId`))");
+        }
+    };
+
+    public static final Migration[] ALL = {
+        MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7
+    };
+
+    // Same triggers Room installs for an external-content FTS entity
+    private static void createFtsTriggers(SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_movies_fts_BEFORE_UPDATE BEFORE UPDATE "
+            + "ON `movies` BEGIN DELETE FROM `movies_fts` WHERE `docid`=OLD.`rowid`; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_movies_fts_BEFORE_DELETE BEFORE DELETE "
+            + "ON `movies` BEGIN DELETE FROM `movies_fts` WHERE `docid`=OLD.`rowid`; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_movies_fts_AFTER_UPDATE AFTER UPDATE "
+            + "ON `movies` BEGIN INSERT INTO `movies_fts`(`docid`, `title`, `overview`) "
+            + "VALUES (NEW.`rowid`, NEW.`title`, NEW.`overview`); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_movies_fts_AFTER_INSERT AFTER INSERT "
+            + "ON `movies` BEGIN INSERT INTO `movies_fts`(`docid`, `title`, `overview`) "
+            + "VALUES (NEW.`rowid`, NEW.`title`, NEW.`overview`); END");
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.db.data.local;
+
+import com.example.db.data.cache.CacheEndpoint;
+
+public enum Feed {
+    TRENDING(CacheEndpoint.TRENDING),
+    NOW_PLAYING(CacheEndpoint.NOW_PLAYING);
+
+    private final CacheEndpoint cacheEndpoint;
+
+    Feed(CacheEndpoint cacheEndpoint) {
+        this.cacheEndpoint = cacheEndpoint;
+    }
+
+    public CacheEndpoint getCacheEndpoint() {
+        return cacheEndpoint;
+    }
+}
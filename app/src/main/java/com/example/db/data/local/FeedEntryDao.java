@@ -0,0 +1,57 @@
+package com.example.db.data.local;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Dao
+public abstract class FeedEntryDao {
+    @Query("SELECT * FROM feed_entries WHERE feed = :feed")
+    public abstract List<FeedEntryEntity> getEntries(String feed);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void insertEntries(List<FeedEntryEntity> entries);
+
+    @Query("DELETE FROM feed_entries WHERE feed = :feed AND movieId NOT IN (:keepMovieIds)")
+    public abstract void deleteEntriesExcept(String feed, List<Integer> keepMovieIds);
+
+    @Query("DELETE FROM feed_entries WHERE feed = :feed")
+    public abstract void clearFeed(String feed);
+
+    // Makes the feed contain exactly these entries, touching only rows that were added,
+    // removed or moved
+    @Transaction
+    public void replaceFeed(String feed, List<FeedEntryEntity> entries) {
+        if (entries.isEmpty()) {
+            clearFeed(feed);
+            return;
+        }
+        Map<Integer, FeedEntryEntity> existing = new HashMap<>();
+        for (FeedEntryEntity entry : getEntries(feed)) {
+            existing.put(entry.getMovieId(), entry);
+        }
+
+        List<Integer> keepMovieIds = new ArrayList<>(entries.size());
+        List<FeedEntryEntity> changed = new ArrayList<>();
+        for (FeedEntryEntity entry : entries) {
+            keepMovieIds.add(entry.getMovieId());
+            FeedEntryEntity current = existing.remove(entry.getMovieId());
+            if (current == null || current.getPosition() != entry.getPosition()) {
+                changed.add(entry);
+            }
+        }
+        // Whatever is left was dropped from the feed
+        if (!existing.isEmpty()) {
+            deleteEntriesExcept(feed, keepMovieIds);
+        }
+        if (!changed.isEmpty()) {
+            insertEntries(changed);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.db.data.local;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+
+// Membership of a movie in a feed, in server order. Movie rows are shared between feeds,
+// so a movie can be trending, now playing and bookmarked at the same time. The index covers
+// feed reads: filter on feed, walk in position order, join on movieId.
+@Entity(
+    tableName = "feed_entries",
+    primaryKeys = {"feed", "movieId"},
+    indices = {@Index(value = {"feed", "position", "movieId"})}
+)
+public class FeedEntryEntity {
+    @NonNull
+    private String feed;
+    private int movieId;
+    private int position;
+    private long fetchedAt;
+
+    public FeedEntryEntity(@NonNull String feed, int movieId, int position, long fetchedAt) {
+        this.feed = feed;
+        this.movieId = movieId;
+        this.position = position;
+        this.fetchedAt = fetchedAt;
+    }
+
+    @NonNull
+    public String getFeed() {
+        return feed;
+    }
+
+    public void setFeed(@NonNull String feed) {
+        this.feed = feed;
+    }
+
+    public int getMovieId() {
+        return movieId;
+    }
+
+    public void setMovieId(int movieId) {
+        this.movieId = movieId;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(long fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+}
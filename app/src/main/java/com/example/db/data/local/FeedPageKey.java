@@ -0,0 +1,59 @@
+package com.example.db.data.local;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+// Next TMDB page to fetch for a feed, so paging resumes where it stopped after process death
+@Entity(tableName = "feed_page_keys")
+public class FeedPageKey {
+    @PrimaryKey
+    @NonNull
+    private String feed;
+    @Nullable
+    private Integer nextPage;
+    private int totalPages;
+    private long refreshedAt;
+
+    public FeedPageKey(@NonNull String feed, @Nullable Integer nextPage, int totalPages, long refreshedAt) {
+        this.feed = feed;
+        this.nextPage = nextPage;
+        this.totalPages = totalPages;
+        this.refreshedAt = refreshedAt;
+    }
+
+    @NonNull
+    public String getFeed() {
+        return feed;
+    }
+
+    public void setFeed(@NonNull String feed) {
+        this.feed = feed;
+    }
+
+    @Nullable
+    public Integer getNextPage() {
+        return nextPage;
+    }
+
+    public void setNextPage(@Nullable Integer nextPage) {
+        this.nextPage = nextPage;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+
+    public long getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(long refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.db.data.local;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import io.reactivex.rxjava3.core.Maybe;
+
+@Dao
+public interface FeedPageKeyDao {
+    @Query("SELECT * FROM feed_page_keys WHERE feed = :feed")
+    Maybe<FeedPageKey> getPageKey(String feed);
+
+    @Query("SELECT * FROM feed_page_keys WHERE feed = :feed")
+    FeedPageKey getPageKeySync(String feed);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertPageKey(FeedPageKey pageKey);
+}
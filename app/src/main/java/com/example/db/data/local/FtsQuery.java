@@ -0,0 +1,54 @@
+package com.example.db.data.local;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Turns free text into FTS4 MATCH expressions. Every token becomes a prefix term so partially
+// typed words still match, and FTS operators and quotes are stripped from user input.
+public final class FtsQuery {
+    private FtsQuery() {}
+
+    public static List<String> tokens(String query) {
+        List<String> tokens = new ArrayList<>();
+        if (query == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        String lowercaseQuery = query.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lowercaseQuery.length(); i++) {
+            char c = lowercaseQuery.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    // Matches rows where every token prefixes a word in any indexed column
+    public static String match(List<String> tokens) {
+        return join(tokens, "");
+    }
+
+    // Matches rows where every token prefixes a word in the title
+    public static String titleMatch(List<String> tokens) {
+        return join(tokens, "title:");
+    }
+
+    private static String join(List<String> tokens, String columnFilter) {
+        StringBuilder builder = new StringBuilder();
+        for (String token : tokens) {
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            builder.append(columnFilter).append(token).append('*');
+        }
+        return builder.toString();
+    }
+}
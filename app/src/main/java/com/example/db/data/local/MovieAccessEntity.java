@@ -0,0 +1,34 @@
+package com.example.db.data.local;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+// When a movie row was last shown. Kept out of the movies table so recording an access does
+// not invalidate every query that observes movies.
+@Entity(tableName = "movie_access")
+public class MovieAccessEntity {
+    @PrimaryKey
+    private int movieId;
+    private long lastAccessedAt;
+
+    public MovieAccessEntity(int movieId, long lastAccessedAt) {
+        this.movieId = movieId;
+        this.lastAccessedAt = lastAccessedAt;
+    }
+
+    public int getMovieId() {
+        return movieId;
+    }
+
+    public void setMovieId(int movieId) {
+        this.movieId = movieId;
+    }
+
+    public long getLastAccessedAt() {
+        return lastAccessedAt;
+    }
+
+    public void setLastAccessedAt(long lastAccessedAt) {
+        this.lastAccessedAt = lastAccessedAt;
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.db.data.local;
 
+import androidx.paging.PagingSource;
 import androidx.room.*;
+import com.example.db.data.model.Movie;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
@@ -8,33 +10,85 @@ import java.util.List;
 
 @Dao
 public interface MovieDao {
+    // Columns list cells need, read by Room straight into Movie; the overview is cut to what a
+    // three-line preview can show, and backdrop and release date stay null until details load
+    String LIST_ITEM_COLUMNS = "movies.id, movies.title, substr(movies.overview, 1, 200) AS overview, " +
+        "movies.posterPath, NULL AS backdropPath, NULL AS releaseDate, movies.voteAverage";
+
+    String BOOKMARKED_MOVIES = "SELECT " + LIST_ITEM_COLUMNS + ", 1 AS isBookmarked FROM bookmarks " +
+        "INNER JOIN movies ON movies.id = bookmarks.movieId " +
+        "ORDER BY bookmarks.bookmarkedAt DESC";
+
+    // Feed rows in server order. The isBookmarked column is always 0 and never shown: cells take
+    // bookmark state from BookmarkIndex and hide the button until it has loaded. Leaving out the
+    // bookmarks table means a toggle does not invalidate the paged feeds.
+    String FEED_MOVIES = "SELECT " + LIST_ITEM_COLUMNS + ", 0 AS isBookmarked " +
+        "FROM feed_entries " +
+        "INNER JOIN movies ON movies.id = feed_entries.movieId " +
+        "WHERE feed_entries.feed = :feed " +
+        "ORDER BY feed_entries.position";
+
+    // Title hits rank above overview-only hits, then by rating
+    String SEARCH_MOVIES = "SELECT " + LIST_ITEM_COLUMNS + ", (bookmarks.movieId IS NOT NULL) AS isBookmarked " +
+        "FROM movies " +
+        "JOIN movies_fts ON movies.rowid = movies_fts.rowid " +
+        "LEFT JOIN bookmarks ON bookmarks.movieId = movies.id " +
+        "WHERE movies_fts MATCH :match " +
+        "ORDER BY (movies.rowid IN (SELECT rowid FROM movies_fts WHERE movies_fts MATCH :titleMatch)) DESC, " +
+        "movies.voteAverage DESC " +
+        "LIMIT :limit";
+
+    String MOVIE_BY_ID = "SELECT movies.*, (bookmarks.movieId IS NOT NULL) AS isBookmarked FROM movies " +
+        "LEFT JOIN bookmarks ON bookmarks.movieId = movies.id " +
+        "WHERE movies.id = :movieId";
+
     @Query("SELECT * FROM movies")
     Flowable<List<MovieEntity>> getAllMovies();
 
-    @Query("SELECT * FROM movies WHERE isBookmarked = 1")
-    Flowable<List<MovieEntity>> getBookmarkedMovies();
+    @Query(BOOKMARKED_MOVIES)
+    Flowable<List<Movie>> getBookmarkedMovies();
+
+    @Query(FEED_MOVIES)
+    PagingSource<Integer, Movie> getFeedMoviesPaged(String feed);
+
+    @Query(SEARCH_MOVIES)
+    Single<List<Movie>> searchMovies(String match, String titleMatch, int limit);
+
+    @Query("SELECT id, title, voteAverage FROM movies")
+    List<TitleRow> getTitleRows();
+
+    // Stored rows of every bookmarked movie, for background revalidation
+    @Query("SELECT movies.* FROM bookmarks INNER JOIN movies ON movies.id = bookmarks.movieId")
+    List<MovieEntity> getBookmarkedMovieEntities();
+
+    @Query("SELECT movies.posterPath FROM feed_entries " +
+        "INNER JOIN movies ON movies.id = feed_entries.movieId " +
+        "WHERE feed_entries.feed = :feed AND movies.posterPath IS NOT NULL " +
+        "ORDER BY feed_entries.position LIMIT :limit")
+    List<String> getFeedPosterPaths(String feed, int limit);
 
-    @Query("SELECT * FROM movies WHERE isTrending = 1")
-    Single<List<MovieEntity>> getTrendingMovies();
+    @Query(MOVIE_BY_ID)
+    Single<MovieWithBookmark> getMovieById(int movieId);
 
-    @Query("SELECT * FROM movies WHERE isTrending = 0 AND isBookmarked = 0")
-    Single<List<MovieEntity>> getNowPlayingMovies();
+    @Query("SELECT * FROM movies WHERE id IN (:movieIds)")
+    List<MovieEntity> getMoviesByIds(List<Integer> movieIds);
 
-    @Query("SELECT * FROM movies WHERE id = :movieId")
-    Single<MovieEntity> getMovieById(int movieId);
+    // Updates rows in place rather than REPLACE's delete and re-insert
+    @Upsert
+    void upsertMovies(List<MovieEntity> movies);
 
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
-    void insertMovie(MovieEntity movie);
+    @Query("UPDATE movies SET fetchedAt = :fetchedAt WHERE id IN (:movieIds)")
+    void touchMovies(List<Integer> movieIds, long fetchedAt);
 
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
-    void insertMovies(List<MovieEntity> movies);
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertMovieIfAbsent(MovieEntity movie);
 
     @Delete
     Completable deleteMovie(MovieEntity movie);
 
-    @Query("UPDATE movies SET isBookmarked = :isBookmarked WHERE id = :movieId")
-    Completable updateBookmarkStatus(int movieId, boolean isBookmarked);
+    @Query("SELECT id FROM movies WHERE id NOT IN (SELECT movieId FROM bookmarks)")
+    List<Integer> getNonBookmarkedIds();
 
-    @Query("DELETE FROM movies WHERE isBookmarked = 0")
-    Completable deleteNonBookmarkedMovies();
-} 
\ No newline at end of file
+    @Query("DELETE FROM movies WHERE id NOT IN (SELECT movieId FROM bookmarks)")
+    int deleteNonBookmarkedMovies();
+}
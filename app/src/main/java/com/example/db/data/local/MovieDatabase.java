@@ -3,7 +3,23 @@ package com.example.db.data.local;
 import androidx.room.Database;
 import androidx.room.RoomDatabase;
 
-@Database(entities = {MovieEntity.class}, version = 1, exportSchema = false)
+@Database(
+    entities = {
+        MovieEntity.class,
+        MovieFtsEntity.class,
+        FeedEntryEntity.class,
+        BookmarkEntity.class,
+        FeedPageKey.class,
+        MovieAccessEntity.class
+    },
+    version = 7,
+    exportSchema = false
+)
 public abstract class MovieDatabase extends RoomDatabase {
+    // Upgrades go through DatabaseMigrations; bump the version together with a new migration
     public abstract MovieDao movieDao();
+    public abstract FeedEntryDao feedEntryDao();
+    public abstract BookmarkDao bookmarkDao();
+    public abstract FeedPageKeyDao feedPageKeyDao();
+    public abstract StorageDao storageDao();
 } 
\ No newline at end of file
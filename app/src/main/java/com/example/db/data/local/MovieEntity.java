@@ -2,6 +2,7 @@ package com.example.db.data.local;
 
 import androidx.room.Entity;
 import androidx.room.PrimaryKey;
+import java.util.Objects;
 
 @Entity(tableName = "movies")
 public class MovieEntity {
@@ -13,11 +14,11 @@ public class MovieEntity {
     private String backdropPath;
     private String releaseDate;
     private double voteAverage;
-    private boolean isBookmarked;
-    private boolean isTrending;
+    private long fetchedAt;
+    private long ttlMillis;
 
     public MovieEntity(int id, String title, String overview, String posterPath,
-                      String backdropPath, String releaseDate, double voteAverage, boolean isBookmarked) {
+                      String backdropPath, String releaseDate, double voteAverage) {
         this.id = id;
         this.title = title;
         this.overview = overview;
@@ -25,8 +26,6 @@ public class MovieEntity {
         this.backdropPath = backdropPath;
         this.releaseDate = releaseDate;
         this.voteAverage = voteAverage;
-        this.isBookmarked = isBookmarked;
-        this.isTrending = false;
     }
 
     public int getId() {
@@ -85,19 +84,30 @@ public class MovieEntity {
         this.voteAverage = voteAverage;
     }
 
-    public boolean isBookmarked() {
-        return isBookmarked;
+    public long getFetchedAt() {
+        return fetchedAt;
     }
 
-    public void setBookmarked(boolean bookmarked) {
-        isBookmarked = bookmarked;
+    public void setFetchedAt(long fetchedAt) {
+        this.fetchedAt = fetchedAt;
     }
 
-    public boolean isTrending() {
-        return isTrending;
+    public long getTtlMillis() {
+        return ttlMillis;
     }
 
-    public void setTrending(boolean trending) {
-        isTrending = trending;
+    public void setTtlMillis(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
     }
-} 
\ No newline at end of file
+
+    // Compares what the API returns, ignoring local bookkeeping such as fetchedAt
+    public boolean hasSameContent(MovieEntity other) {
+        return id == other.id
+            && Double.compare(voteAverage, other.voteAverage) == 0
+            && Objects.equals(title, other.title)
+            && Objects.equals(overview, other.overview)
+            && Objects.equals(posterPath, other.posterPath)
+            && Objects.equals(backdropPath, other.backdropPath)
+            && Objects.equals(releaseDate, other.releaseDate);
+    }
+}
\ No newline at end of file
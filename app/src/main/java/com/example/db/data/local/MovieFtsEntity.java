@@ -0,0 +1,47 @@
+package com.example.db.data.local;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.PrimaryKey;
+
+// Room installs triggers that keep this index in sync with the movies table
+@Fts4(contentEntity = MovieEntity.class)
+@Entity(tableName = "movies_fts")
+public class MovieFtsEntity {
+    @PrimaryKey
+    @ColumnInfo(name = "rowid")
+    private int rowId;
+    private String title;
+    private String overview;
+
+    public MovieFtsEntity(int rowId, String title, String overview) {
+        this.rowId = rowId;
+        this.title = title;
+        this.overview = overview;
+    }
+
+    public int getRowId() {
+        return rowId;
+    }
+
+    public void setRowId(int rowId) {
+        this.rowId = rowId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getOverview() {
+        return overview;
+    }
+
+    public void setOverview(String overview) {
+        this.overview = overview;
+    }
+}
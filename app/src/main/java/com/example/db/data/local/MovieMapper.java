@@ -6,23 +6,29 @@ import java.util.List;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+// List rows are read by Room straight into Movie and feed pages are decoded straight into
+// MovieEntity, so only the detail row and responses that are both shown and stored (search,
+// details) still pass through here.
 @Singleton
 public class MovieMapper {
     @Inject
     public MovieMapper() {}
 
-    public Movie fromEntity(MovieEntity entity) {
-        Movie movie = new Movie(
+    public Movie fromRow(MovieWithBookmark row) {
+        return fromEntity(row.movie, row.isBookmarked);
+    }
+
+    public Movie fromEntity(MovieEntity entity, boolean bookmarked) {
+        return new Movie(
             entity.getId(),
             entity.getTitle(),
             entity.getOverview(),
             entity.getPosterPath(),
             entity.getBackdropPath(),
             entity.getReleaseDate(),
-            entity.getVoteAverage()
+            entity.getVoteAverage(),
+            bookmarked
         );
-        movie.setBookmarked(entity.isBookmarked());
-        return movie;
     }
 
     public MovieEntity toEntity(Movie movie) {
@@ -33,24 +39,15 @@ public class MovieMapper {
             movie.getPosterPath(),
             movie.getBackdropPath(),
             movie.getReleaseDate(),
-            movie.getVoteAverage(),
-            movie.isBookmarked()
+            movie.getVoteAverage()
         );
     }
 
-    public List<Movie> toDomainList(List<MovieEntity> entities) {
-        List<Movie> movies = new ArrayList<>();
-        for (MovieEntity entity : entities) {
-            movies.add(fromEntity(entity));
-        }
-        return movies;
-    }
-
     public List<MovieEntity> toEntityList(List<Movie> movies) {
-        List<MovieEntity> entities = new ArrayList<>();
+        List<MovieEntity> entities = new ArrayList<>(movies.size());
         for (Movie movie : movies) {
             entities.add(toEntity(movie));
         }
         return entities;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package com.example.db.data.local;
+
+import androidx.room.Embedded;
+
+// A movie row joined with its bookmark state
+public class MovieWithBookmark {
+    @Embedded
+    public MovieEntity movie;
+
+    public boolean isBookmarked;
+}
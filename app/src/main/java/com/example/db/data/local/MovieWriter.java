@@ -0,0 +1,144 @@
+package com.example.db.data.local;
+
+import android.util.Log;
+import com.example.db.util.AppLog;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+// Merge-aware write path for movie rows. Incoming rows are compared with what is stored and
+// only new or changed rows are upserted, so Room's invalidation tracker (and every observer
+// of the movies table) only fires when data actually changed.
+@Singleton
+public class MovieWriter {
+    private static final String TAG = "MovieWriter";
+
+    private final MovieDatabase database;
+    private final MovieDao movieDao;
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong rowsSkipped = new AtomicLong();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    @Inject
+    public MovieWriter(MovieDatabase database) {
+        this.database = database;
+        this.movieDao = database.movieDao();
+    }
+
+    // touchUnchanged bumps fetchedAt on rows whose content did not change; feed refreshes
+    // leave it off since feed freshness is tracked by the page keys
+    public WriteResult merge(List<MovieEntity> incoming, boolean touchUnchanged) {
+        WriteResult result = mergeUnpublished(incoming, touchUnchanged);
+        publish(result);
+        return result;
+    }
+
+    public WriteResult merge(MovieEntity incoming, boolean touchUnchanged) {
+        return merge(Collections.singletonList(incoming), touchUnchanged);
+    }
+
+    // For merges that are part of a caller's own transaction. Listeners hear nothing until the
+    // caller passes the result to publish() after that transaction has committed, so they never
+    // see rows a rollback would take back.
+    public WriteResult mergeUnpublished(List<MovieEntity> incoming, boolean touchUnchanged) {
+        if (incoming == null || incoming.isEmpty()) {
+            return new WriteResult(Collections.emptyList(), 0);
+        }
+        List<Integer> ids = new ArrayList<>(incoming.size());
+        for (MovieEntity entity : incoming) {
+            ids.add(entity.getId());
+        }
+
+        List<MovieEntity> changed = new ArrayList<>();
+        List<Integer> unchangedIds = new ArrayList<>();
+        database.runInTransaction(() -> {
+            Map<Integer, MovieEntity> stored = new HashMap<>();
+            for (MovieEntity entity : movieDao.getMoviesByIds(ids)) {
+                stored.put(entity.getId(), entity);
+            }
+            for (MovieEntity entity : incoming) {
+                MovieEntity current = stored.get(entity.getId());
+                if (current != null && current.hasSameContent(entity)) {
+                    unchangedIds.add(entity.getId());
+                } else {
+                    changed.add(entity);
+                }
+            }
+            if (!changed.isEmpty()) {
+                movieDao.upsertMovies(changed);
+            }
+            if (touchUnchanged && !unchangedIds.isEmpty()) {
+                movieDao.touchMovies(unchangedIds, incoming.get(0).getFetchedAt());
+            }
+        });
+
+        WriteResult result = new WriteResult(changed, unchangedIds.size());
+        rowsWritten.addAndGet(result.getWritten());
+        rowsSkipped.addAndGet(result.getSkipped());
+        if (AppLog.isLoggable(Log.DEBUG)) {
+            Log.d(TAG, "Merged " + incoming.size() + " movies: " + result.getWritten() + " written, " + result.getSkipped() + " skipped");
+        }
+        return result;
+    }
+
+    public void publish(WriteResult result) {
+        if (!result.changed.isEmpty()) {
+            for (Listener listener : listeners) {
+                listener.onMoviesWritten(result.changed);
+            }
+        }
+    }
+
+    // Rows deleted outside the writer, such as by eviction, once the delete has committed
+    public void publishRemoved(List<Integer> movieIds) {
+        if (!movieIds.isEmpty()) {
+            for (Listener listener : listeners) {
+                listener.onMoviesRemoved(movieIds);
+            }
+        }
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    public long getRowsSkipped() {
+        return rowsSkipped.get();
+    }
+
+    // Told about new, changed and deleted rows on the writing thread, once their transaction
+    // committed
+    public interface Listener {
+        void onMoviesWritten(List<MovieEntity> movies);
+
+        void onMoviesRemoved(List<Integer> movieIds);
+    }
+
+    public static class WriteResult {
+        private final List<MovieEntity> changed;
+        private final int skipped;
+
+        WriteResult(List<MovieEntity> changed, int skipped) {
+            this.changed = changed;
+            this.skipped = skipped;
+        }
+
+        public int getWritten() {
+            return changed.size();
+        }
+
+        public int getSkipped() {
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.db.data.local;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Upsert;
+import java.util.List;
+
+@Dao
+public interface StorageDao {
+    // Bookmarked movies and movies in a feed are never evicted
+    String EVICTABLE = "movies.id NOT IN (SELECT movieId FROM bookmarks) " +
+        "AND movies.id NOT IN (SELECT movieId FROM feed_entries)";
+
+    @Upsert
+    void upsertAccess(List<MovieAccessEntity> accesses);
+
+    @Query("SELECT COUNT(*) FROM movies")
+    int countMovies();
+
+    // Least recently used first; a row counts as used when it was last written or shown
+    @Query("SELECT movies.id FROM movies " +
+        "LEFT JOIN movie_access ON movie_access.movieId = movies.id " +
+        "WHERE " + EVICTABLE + " " +
+        "ORDER BY MAX(movies.fetchedAt, IFNULL(movie_access.lastAccessedAt, 0)) " +
+        "LIMIT :limit")
+    List<Integer> getEvictionCandidates(int limit);
+
+    // Rechecks protection, since a bookmark may have landed after the candidates were read
+    @Query("DELETE FROM movies WHERE id IN (:movieIds) AND " + EVICTABLE)
+    int deleteMovies(List<Integer> movieIds);
+
+    @Query("DELETE FROM movie_access WHERE movieId NOT IN (SELECT id FROM movies)")
+    int deleteOrphanedAccess();
+}
@@ -0,0 +1,221 @@
+package com.example.db.data.local;
+
+import android.database.Cursor;
+import android.util.Log;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import com.example.db.util.AppLog;
+import com.example.db.util.AppSchedulers;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+// Keeps the movie cache under its quota by evicting the least recently used rows that are
+// neither bookmarked nor part of a feed. Eviction runs as a series of small deletes on the
+// database writer, so reads and user writes interleave with it instead of waiting out one
+// long transaction.
+@Singleton
+public class StorageManager {
+    private static final String TAG = "StorageManager";
+    static final int EVICTION_BATCH = 100;
+    private static final long ACCESS_FLUSH_DELAY_MS = 5_000;
+    // VACUUM rewrites the whole file, so it waits until a quarter of the pages are free
+    private static final double VACUUM_FREE_RATIO = 0.25;
+
+    private final MovieDatabase database;
+    private final StorageDao storageDao;
+    private final StorageQuota quota;
+    private final MovieWriter movieWriter;
+    private final WriteQueue writeQueue;
+    private final AppSchedulers schedulers;
+    private final Set<Integer> pendingAccess = new LinkedHashSet<>();
+    private final AtomicLong rowsEvicted = new AtomicLong();
+    private final AtomicLong timeSpentNanos = new AtomicLong();
+    private volatile StorageReport lastReport;
+
+    @Inject
+    public StorageManager(MovieDatabase database, StorageQuota quota, MovieWriter movieWriter, WriteQueue writeQueue,
+                          AppSchedulers schedulers) {
+        this.database = database;
+        this.storageDao = database.storageDao();
+        this.quota = quota;
+        this.movieWriter = movieWriter;
+        this.writeQueue = writeQueue;
+        this.schedulers = schedulers;
+    }
+
+    // Opening a movie or seeing it in results marks it as used. Ids are buffered and written
+    // together a few seconds later rather than costing a write per screen.
+    public void recordAccess(Collection<Integer> movieIds) {
+        if (movieIds.isEmpty()) {
+            return;
+        }
+        boolean schedule;
+        synchronized (pendingAccess) {
+            schedule = pendingAccess.isEmpty();
+            pendingAccess.addAll(movieIds);
+        }
+        if (schedule) {
+            writeQueue.enqueue("record access", Completable.fromAction(this::flushAccess)
+                .delaySubscription(ACCESS_FLUSH_DELAY_MS, TimeUnit.MILLISECONDS, schedulers.databaseWrite()));
+        }
+    }
+
+    void flushAccess() {
+        List<Integer> ids;
+        synchronized (pendingAccess) {
+            ids = new ArrayList<>(pendingAccess);
+            pendingAccess.clear();
+        }
+        long now = System.currentTimeMillis();
+        List<MovieAccessEntity> accesses = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            accesses.add(new MovieAccessEntity(id, now));
+        }
+        storageDao.upsertAccess(accesses);
+    }
+
+    // Evicts down to the quota; cheap enough for startup
+    public Single<StorageReport> enforceQuota() {
+        return run(false);
+    }
+
+    // Eviction followed by VACUUM when enough of the file is free, and PRAGMA optimize. Meant
+    // for the periodic background sync, which already runs on an idle, charging device.
+    public Single<StorageReport> maintain() {
+        return run(true);
+    }
+
+    public long getRowsEvicted() {
+        return rowsEvicted.get();
+    }
+
+    public long getTimeSpentMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(timeSpentNanos.get());
+    }
+
+    public StorageReport getLastReport() {
+        return lastReport;
+    }
+
+    private Single<StorageReport> run(boolean maintenance) {
+        return Single.defer(() -> {
+            Pass pass = new Pass();
+            // Each batch is its own task on the writer, so queued writes get a turn in between
+            return Single.fromCallable(() -> evictBatch(pass))
+                .subscribeOn(schedulers.databaseWrite())
+                .repeatUntil(() -> pass.done)
+                .ignoreElements()
+                .andThen(Single.fromCallable(() -> finish(pass, maintenance))
+                    .subscribeOn(schedulers.databaseWrite()));
+        });
+    }
+
+    private int evictBatch(Pass pass) {
+        long start = System.nanoTime();
+        try {
+            if (pass.remaining < 0) {
+                pass.remaining = rowsOverQuota();
+            }
+            if (pass.remaining == 0) {
+                pass.done = true;
+                return 0;
+            }
+            List<Integer> candidates = storageDao.getEvictionCandidates(Math.min(pass.remaining, EVICTION_BATCH));
+            if (candidates.isEmpty()) {
+                // Whatever is left is protected
+                pass.done = true;
+                return 0;
+            }
+            int deleted = storageDao.deleteMovies(candidates);
+            movieWriter.publishRemoved(deleted == candidates.size() ? candidates : evictedOf(candidates));
+            pass.evicted += deleted;
+            pass.remaining = Math.max(0, pass.remaining - deleted);
+            return deleted;
+        } finally {
+            pass.nanos += System.nanoTime() - start;
+        }
+    }
+
+    // A candidate bookmarked since it was read is kept by the delete, so only the ones now gone
+    // are reported
+    private List<Integer> evictedOf(List<Integer> candidates) {
+        List<Integer> evicted = new ArrayList<>(candidates);
+        for (MovieEntity kept : database.movieDao().getMoviesByIds(candidates)) {
+            evicted.remove(Integer.valueOf(kept.getId()));
+        }
+        return evicted;
+    }
+
+    // Counted once per pass. The byte quota is turned into rows using the current average row
+    // size, which includes the full-text index and the other tables.
+    private int rowsOverQuota() {
+        int rows = storageDao.countMovies();
+        long excess = rows - quota.getMaxRows();
+        long usedBytes = (pragma("page_count") - pragma("freelist_count")) * pragma("page_size");
+        if (usedBytes > quota.getMaxBytes() && rows > 0) {
+            long bytesPerRow = Math.max(1, usedBytes / rows);
+            excess = Math.max(excess, (usedBytes - quota.getMaxBytes() + bytesPerRow - 1) / bytesPerRow);
+        }
+        return (int) Math.max(0, Math.min(excess, rows));
+    }
+
+    private StorageReport finish(Pass pass, boolean maintenance) {
+        long start = System.nanoTime();
+        boolean vacuumed = false;
+        if (pass.evicted > 0 || maintenance) {
+            storageDao.deleteOrphanedAccess();
+        }
+        if (maintenance) {
+            SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+            if (pragma("freelist_count") > pragma("page_count") * VACUUM_FREE_RATIO) {
+                db.execSQL("VACUUM");
+                vacuumed = true;
+            }
+            // Older SQLite builds ignore pragmas they do not know
+            try (Cursor cursor = db.query("PRAGMA optimize")) {
+                cursor.moveToFirst();
+            }
+        }
+        pass.nanos += System.nanoTime() - start;
+
+        rowsEvicted.addAndGet(pass.evicted);
+        timeSpentNanos.addAndGet(pass.nanos);
+        StorageReport report = new StorageReport(databaseFileBytes(), storageDao.countMovies(), pass.evicted,
+            TimeUnit.NANOSECONDS.toMillis(pass.nanos), vacuumed);
+        lastReport = report;
+        if (AppLog.isLoggable(Log.INFO)) {
+            Log.i(TAG, report.toString());
+        }
+        return report;
+    }
+
+    private long pragma(String name) {
+        try (Cursor cursor = database.getOpenHelper().getWritableDatabase().query("PRAGMA " + name)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+    }
+
+    private long databaseFileBytes() {
+        String path = database.getOpenHelper().getWritableDatabase().getPath();
+        if (path == null) {
+            return 0;
+        }
+        return new File(path).length() + new File(path + "-wal").length();
+    }
+
+    private static class Pass {
+        int remaining = -1;
+        int evicted;
+        long nanos;
+        boolean done;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.db.data.local;
+
+// Upper bounds for the movie cache. Eviction starts when either is exceeded; bookmarked and
+// feed movies do not count against what can be evicted but do count toward the totals.
+public class StorageQuota {
+    private final int maxRows;
+    private final long maxBytes;
+
+    public StorageQuota(int maxRows, long maxBytes) {
+        if (maxRows <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException("Invalid storage quota: rows=" + maxRows + ", bytes=" + maxBytes);
+        }
+        this.maxRows = maxRows;
+        this.maxBytes = maxBytes;
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.db.data.local;
+
+import androidx.annotation.NonNull;
+
+// Outcome of one quota pass. databaseBytes is the database file plus its write-ahead log
+public class StorageReport {
+    private final long databaseBytes;
+    private final int rows;
+    private final int rowsEvicted;
+    private final long elapsedMillis;
+    private final boolean vacuumed;
+
+    StorageReport(long databaseBytes, int rows, int rowsEvicted, long elapsedMillis, boolean vacuumed) {
+        this.databaseBytes = databaseBytes;
+        this.rows = rows;
+        this.rowsEvicted = rowsEvicted;
+        this.elapsedMillis = elapsedMillis;
+        this.vacuumed = vacuumed;
+    }
+
+    public long getDatabaseBytes() {
+        return databaseBytes;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getRowsEvicted() {
+        return rowsEvicted;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public boolean isVacuumed() {
+        return vacuumed;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return rows + " movies, " + databaseBytes / 1024 + " KB, " + rowsEvicted + " evicted in " + elapsedMillis
+            + " ms" + (vacuumed ? ", vacuumed" : "");
+    }
+}
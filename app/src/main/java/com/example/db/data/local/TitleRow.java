@@ -0,0 +1,14 @@
+package com.example.db.data.local;
+
+// The columns the title autocomplete index needs from a movie row
+public class TitleRow {
+    public final int id;
+    public final String title;
+    public final double voteAverage;
+
+    public TitleRow(int id, String title, double voteAverage) {
+        this.id = id;
+        this.title = title;
+        this.voteAverage = voteAverage;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.db.data.local;
+
+import android.util.Log;
+import com.example.db.util.AppLog;
+import com.example.db.util.AppSchedulers;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.observers.DisposableCompletableObserver;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+// Background writes that no caller waits for: cache stores, detail refreshes, artwork pins.
+// They run on the single database writer and stay tracked until they finish, so they can be
+// counted and cancelled instead of leaking as anonymous subscriptions.
+@Singleton
+public class WriteQueue {
+    private static final String TAG = "WriteQueue";
+
+    private final AppSchedulers schedulers;
+    private final CompositeDisposable pending = new CompositeDisposable();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @Inject
+    public WriteQueue(AppSchedulers schedulers) {
+        this.schedulers = schedulers;
+    }
+
+    // A task that starts with a network call should subscribeOn(io) that call itself and
+    // observeOn(databaseWrite()) before writing, so the writer never waits on the network
+    public void enqueue(String label, Completable write) {
+        DisposableCompletableObserver observer = new DisposableCompletableObserver() {
+            @Override
+            public void onComplete() {
+                completed.incrementAndGet();
+                pending.delete(this);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                failed.incrementAndGet();
+                pending.delete(this);
+                Log.e(TAG, label + " failed: " + throwable.getMessage());
+            }
+        };
+        pending.add(observer);
+        write.subscribeOn(schedulers.databaseWrite()).subscribe(observer);
+        if (AppLog.isLoggable(Log.DEBUG)) {
+            Log.d(TAG, "Queued " + label + ", " + pending.size() + " pending");
+        }
+    }
+
+    public int getPending() {
+        return pending.size();
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    // Drops every write that has not finished yet
+    public void cancelAll() {
+        pending.clear();
+    }
+}
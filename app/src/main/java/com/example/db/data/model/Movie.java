@@ -1,33 +1,55 @@
 package com.example.db.data.model;
 
+import androidx.room.Ignore;
 import com.google.gson.annotations.SerializedName;
 
-public class Movie {
+// Immutable movie value. The content stamp is computed once on construction, so list diffs
+// compare two longs instead of walking every string; state changes such as a bookmark toggle
+// produce a new instance through withBookmarked() or the builder.
+public final class Movie {
     @SerializedName("id")
-    private int id;
+    private final int id;
 
     @SerializedName("title")
-    private String title;
+    private final String title;
 
     @SerializedName("overview")
-    private String overview;
+    private final String overview;
 
     @SerializedName("poster_path")
-    private String posterPath;
+    private final String posterPath;
 
     @SerializedName("backdrop_path")
-    private String backdropPath;
+    private final String backdropPath;
 
     @SerializedName("release_date")
-    private String releaseDate;
+    private final String releaseDate;
 
     @SerializedName("vote_average")
-    private double voteAverage;
+    private final double voteAverage;
 
-    private boolean isBookmarked;
+    private final boolean isBookmarked;
 
-    public Movie(int id, String title, String overview, String posterPath, 
+    // Fingerprint of the TMDB content, excluding bookmark state, and the cached hash of both
+    private final transient long stamp;
+    private final transient int hash;
+
+    @Ignore
+    public Movie(int id, String title, String overview, String posterPath,
                 String backdropPath, String releaseDate, double voteAverage) {
+        this(id, title, overview, posterPath, backdropPath, releaseDate, voteAverage, false);
+    }
+
+    // Used by Room to build list rows straight from the cursor
+    public Movie(int id, String title, String overview, String posterPath,
+                String backdropPath, String releaseDate, double voteAverage, boolean isBookmarked) {
+        this(id, title, overview, posterPath, backdropPath, releaseDate, voteAverage, isBookmarked,
+            contentStamp(id, title, overview, posterPath, backdropPath, releaseDate, voteAverage));
+    }
+
+    @Ignore
+    private Movie(int id, String title, String overview, String posterPath, String backdropPath,
+                  String releaseDate, double voteAverage, boolean isBookmarked, long stamp) {
         this.id = id;
         this.title = title;
         this.overview = overview;
@@ -35,90 +57,74 @@ public class Movie {
         this.backdropPath = backdropPath;
         this.releaseDate = releaseDate;
         this.voteAverage = voteAverage;
+        this.isBookmarked = isBookmarked;
+        this.stamp = stamp;
+        this.hash = 31 * Long.hashCode(stamp) + (isBookmarked ? 1 : 0);
     }
 
     public int getId() {
         return id;
     }
 
-    public void setId(int id) {
-        this.id = id;
-    }
-
     public String getTitle() {
         return title;
     }
 
-    public void setTitle(String title) {
-        this.title = title;
-    }
-
     public String getOverview() {
         return overview;
     }
 
-    public void setOverview(String overview) {
-        this.overview = overview;
-    }
-
     public String getPosterPath() {
         return posterPath;
     }
 
-    public void setPosterPath(String posterPath) {
-        this.posterPath = posterPath;
-    }
-
     public String getBackdropPath() {
         return backdropPath;
     }
 
-    public void setBackdropPath(String backdropPath) {
-        this.backdropPath = backdropPath;
-    }
-
     public String getReleaseDate() {
         return releaseDate;
     }
 
-    public void setReleaseDate(String releaseDate) {
-        this.releaseDate = releaseDate;
-    }
-
     public double getVoteAverage() {
         return voteAverage;
     }
 
-    public void setVoteAverage(double voteAverage) {
-        this.voteAverage = voteAverage;
-    }
-
     public boolean isBookmarked() {
         return isBookmarked;
     }
 
-    public void setBookmarked(boolean bookmarked) {
-        isBookmarked = bookmarked;
+    public long getStamp() {
+        return stamp;
     }
 
-    public String getFullPosterPath() {
-        return posterPath != null ? "https://image.tmdb.org/t/p/w500" + posterPath : null;
+    // Same content, so the stamp carries over without rehashing the strings
+    public Movie withBookmarked(boolean bookmarked) {
+        if (bookmarked == isBookmarked) {
+            return this;
+        }
+        return new Movie(id, title, overview, posterPath, backdropPath, releaseDate, voteAverage, bookmarked, stamp);
     }
 
-    public String getFullBackdropPath() {
-        return backdropPath != null ? "https://image.tmdb.org/t/p/w780" + backdropPath : null;
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    // Equal stamps with a different bookmark state mean only the bookmark changed
+    public boolean hasSameContent(Movie other) {
+        return stamp == other.stamp;
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
-        
+
         Movie movie = (Movie) o;
-        
-        if (id != movie.id) return false;
+
+        // Cheap rejections first; the field walk only runs for likely-equal movies
+        if (stamp != movie.stamp || isBookmarked != movie.isBookmarked || id != movie.id) return false;
         if (Double.compare(movie.voteAverage, voteAverage) != 0) return false;
-        if (isBookmarked != movie.isBookmarked) return false;
         if (title != null ? !title.equals(movie.title) : movie.title != null) return false;
         if (overview != null ? !overview.equals(movie.overview) : movie.overview != null) return false;
         if (posterPath != null ? !posterPath.equals(movie.posterPath) : movie.posterPath != null) return false;
@@ -128,17 +134,108 @@ public class Movie {
 
     @Override
     public int hashCode() {
-        int result;
-        long temp;
-        result = id;
-        result = 31 * result + (title != null ? title.hashCode() : 0);
-        result = 31 * result + (overview != null ? overview.hashCode() : 0);
-        result = 31 * result + (posterPath != null ? posterPath.hashCode() : 0);
-        result = 31 * result + (backdropPath != null ? backdropPath.hashCode() : 0);
-        result = 31 * result + (releaseDate != null ? releaseDate.hashCode() : 0);
-        temp = Double.doubleToLongBits(voteAverage);
-        result = 31 * result + (int) (temp ^ (temp >>> 32));
-        result = 31 * result + (isBookmarked ? 1 : 0);
-        return result;
-    }
-} 
\ No newline at end of file
+        return hash;
+    }
+
+    // 64-bit FNV-1a over every content field, with a separator so adjacent fields cannot blur
+    private static long contentStamp(int id, String title, String overview, String posterPath,
+                                     String backdropPath, String releaseDate, double voteAverage) {
+        long h = 0xcbf29ce484222325L;
+        h = mix(h, id);
+        h = mix(h, title);
+        h = mix(h, overview);
+        h = mix(h, posterPath);
+        h = mix(h, backdropPath);
+        h = mix(h, releaseDate);
+        long bits = Double.doubleToLongBits(voteAverage);
+        h = mix(h, (int) bits);
+        return mix(h, (int) (bits >>> 32));
+    }
+
+    private static long mix(long h, String value) {
+        if (value == null) {
+            return mix(h, -1);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(h, value.length());
+    }
+
+    private static long mix(long h, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            h = (h ^ ((value >>> shift) & 0xff)) * 0x100000001b3L;
+        }
+        return h;
+    }
+
+    // Copy-on-write: starts from an existing movie and builds a new instance
+    public static final class Builder {
+        private int id;
+        private String title;
+        private String overview;
+        private String posterPath;
+        private String backdropPath;
+        private String releaseDate;
+        private double voteAverage;
+        private boolean isBookmarked;
+
+        public Builder() {
+        }
+
+        private Builder(Movie movie) {
+            id = movie.id;
+            title = movie.title;
+            overview = movie.overview;
+            posterPath = movie.posterPath;
+            backdropPath = movie.backdropPath;
+            releaseDate = movie.releaseDate;
+            voteAverage = movie.voteAverage;
+            isBookmarked = movie.isBookmarked;
+        }
+
+        public Builder setId(int id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder setTitle(String title) {
+            this.title = title;
+            return this;
+        }
+
+        public Builder setOverview(String overview) {
+            this.overview = overview;
+            return this;
+        }
+
+        public Builder setPosterPath(String posterPath) {
+            this.posterPath = posterPath;
+            return this;
+        }
+
+        public Builder setBackdropPath(String backdropPath) {
+            this.backdropPath = backdropPath;
+            return this;
+        }
+
+        public Builder setReleaseDate(String releaseDate) {
+            this.releaseDate = releaseDate;
+            return this;
+        }
+
+        public Builder setVoteAverage(double voteAverage) {
+            this.voteAverage = voteAverage;
+            return this;
+        }
+
+        public Builder setBookmarked(boolean bookmarked) {
+            this.isBookmarked = bookmarked;
+            return this;
+        }
+
+        public Movie build() {
+            return new Movie(id, title, overview, posterPath, backdropPath, releaseDate, voteAverage, isBookmarked);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.example.db.data.paging;
+
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.paging.LoadType;
+import androidx.paging.PagingState;
+import androidx.paging.rxjava3.RxRemoteMediator;
+import com.example.db.data.local.Feed;
+import com.example.db.data.model.Movie;
+import io.reactivex.rxjava3.core.Single;
+
+// Appends TMDB pages to one feed in Room when the local rows run out. Room stays the single
+// source of truth; the first page is refreshed by the Home sections, not by this mediator.
+public class FeedRemoteMediator extends RxRemoteMediator<Integer, Movie> {
+    private static final String TAG = "FeedRemoteMediator";
+
+    private final Feed feed;
+    private final FeedSync feedSync;
+
+    public FeedRemoteMediator(Feed feed, FeedSync feedSync) {
+        this.feed = feed;
+        this.feedSync = feedSync;
+    }
+
+    // HomeSectionsLoader refreshes every section concurrently, so the pager starts from Room
+    @NonNull
+    @Override
+    public Single<InitializeAction> initializeSingle() {
+        return Single.just(InitializeAction.SKIP_INITIAL_REFRESH);
+    }
+
+    @NonNull
+    @Override
+    public Single<MediatorResult> loadSingle(@NonNull LoadType loadType, @NonNull PagingState<Integer, Movie> state) {
+        if (loadType == LoadType.PREPEND) {
+            return Single.just(new MediatorResult.Success(true));
+        }
+        Single<MediatorResult> load;
+        if (loadType == LoadType.REFRESH) {
+            load = feedSync.loadPage(feed, 1, true).<MediatorResult>map(MediatorResult.Success::new);
+        } else {
+            load = feedSync.nextPage(feed).flatMap(page -> {
+                if (page == FeedSync.NO_MORE_PAGES) {
+                    return Single.<MediatorResult>just(new MediatorResult.Success(true));
+                }
+                if (page == FeedSync.NOT_LOADED) {
+                    // The section refresh is still storing the first page; its write invalidates
+                    // the paging source and appends resume from the stored key
+                    return Single.<MediatorResult>just(new MediatorResult.Success(false));
+                }
+                return feedSync.loadPage(feed, page, false).<MediatorResult>map(MediatorResult.Success::new);
+            });
+        }
+        return load.onErrorReturn(error -> {
+            Log.e(TAG, "Failed to load " + feed + " page: " + error.getMessage());
+            return new MediatorResult.Error(error);
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.db.data.paging;
+
+import com.example.db.data.local.Feed;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
+
+// What the Home sections need from a feed: whether its cached first page can still be shown,
+// and a way to refetch that page
+public interface FeedSource {
+    Single<Boolean> isFresh(Feed feed);
+
+    Completable refresh(Feed feed);
+}
@@ -0,0 +1,167 @@
+package com.example.db.data.paging;
+
+import android.util.Log;
+import com.example.db.data.api.MovieApiService;
+import com.example.db.data.api.MovieEntityPage;
+import com.example.db.data.cache.CachePolicies;
+import com.example.db.data.cache.CachePolicy;
+import com.example.db.data.cache.CacheState;
+import com.example.db.data.local.Feed;
+import com.example.db.data.local.FeedEntryDao;
+import com.example.db.data.local.FeedEntryEntity;
+import com.example.db.data.local.FeedPageKey;
+import com.example.db.data.local.FeedPageKeyDao;
+import com.example.db.data.local.MovieDatabase;
+import com.example.db.data.local.MovieEntity;
+import com.example.db.data.local.MovieWriter;
+import com.example.db.util.AppLog;
+import com.example.db.util.AppSchedulers;
+import dagger.Lazy;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+// Fetches TMDB feed pages and stores them in Room. Shared by the Home sections, which refresh
+// the first page, and the remote mediators, which append the following ones.
+@Singleton
+public class FeedSync implements FeedSource {
+    private static final String TAG = "FeedSync";
+    private static final String DEFAULT_LANGUAGE = "en-US";
+    public static final int TMDB_PAGE_SIZE = 20;
+    // Returned by nextPage() once the last page is stored
+    public static final int NO_MORE_PAGES = -1;
+    // Returned by nextPage() while the first page has not been stored yet
+    public static final int NOT_LOADED = 0;
+
+    private final Lazy<MovieApiService> movieApiService;
+    private final MovieDatabase database;
+    private final MovieWriter movieWriter;
+    private final FeedEntryDao feedEntryDao;
+    private final FeedPageKeyDao pageKeyDao;
+    private final CachePolicies cachePolicies;
+    private final AppSchedulers schedulers;
+
+    @Inject
+    public FeedSync(
+        Lazy<MovieApiService> movieApiService,
+        MovieDatabase database,
+        MovieWriter movieWriter,
+        CachePolicies cachePolicies,
+        AppSchedulers schedulers
+    ) {
+        this.movieApiService = movieApiService;
+        this.database = database;
+        this.movieWriter = movieWriter;
+        this.feedEntryDao = database.feedEntryDao();
+        this.pageKeyDao = database.feedPageKeyDao();
+        this.cachePolicies = cachePolicies;
+        this.schedulers = schedulers;
+    }
+
+    @Override
+    public Single<Boolean> isFresh(Feed feed) {
+        CachePolicy cachePolicy = cachePolicies.policyFor(feed.getCacheEndpoint());
+        return pageKeyDao.getPageKey(feed.name())
+            .map(pageKey -> cachePolicy.evaluate(
+                pageKey.getRefreshedAt(),
+                cachePolicy.getTtlMillis(),
+                System.currentTimeMillis()
+            ) == CacheState.FRESH)
+            .defaultIfEmpty(false)
+            .subscribeOn(schedulers.io());
+    }
+
+    // Explicit and background refreshes go to TMDB even while the HTTP cache still holds page 1
+    @Override
+    public Completable refresh(Feed feed) {
+        return fetchAndStore(feed, 1, true, true).ignoreElement();
+    }
+
+    public Single<Integer> nextPage(Feed feed) {
+        return Single.fromCallable(() -> {
+                FeedPageKey pageKey = pageKeyDao.getPageKeySync(feed.name());
+                if (pageKey == null) {
+                    return NOT_LOADED;
+                }
+                // A null next page means the last page has already been stored
+                return pageKey.getNextPage() != null ? pageKey.getNextPage() : NO_MORE_PAGES;
+            })
+            .subscribeOn(schedulers.io());
+    }
+
+    // Emits whether the feed's last page has been reached
+    public Single<Boolean> loadPage(Feed feed, int page, boolean refresh) {
+        return fetchAndStore(feed, page, refresh, false);
+    }
+
+    private Single<Boolean> fetchAndStore(Feed feed, int page, boolean refresh, boolean force) {
+        return Single.defer(() -> fetchPage(feed, page, force))
+            .subscribeOn(schedulers.io())
+            .observeOn(schedulers.databaseWrite())
+            .map(response -> storePage(feed, page, refresh, response));
+    }
+
+    private Single<MovieEntityPage> fetchPage(Feed feed, int page, boolean force) {
+        MovieApiService api = movieApiService.get();
+        switch (feed) {
+            case TRENDING:
+                return force
+                    ? api.refreshTrendingMovies(DEFAULT_LANGUAGE, page)
+                    : api.getTrendingMovies(DEFAULT_LANGUAGE, page);
+            case NOW_PLAYING:
+            default:
+                return force
+                    ? api.refreshNowPlayingMovies(DEFAULT_LANGUAGE, page)
+                    : api.getNowPlayingMovies(DEFAULT_LANGUAGE, page);
+        }
+    }
+
+    // Pages arrive already decoded into rows, so they are stamped and written without a mapping pass
+    private boolean storePage(Feed feed, int page, boolean refresh, MovieEntityPage response) {
+        CachePolicy cachePolicy = cachePolicies.policyFor(feed.getCacheEndpoint());
+        List<MovieEntity> entities = response.getResults() != null ? response.getResults() : Collections.emptyList();
+        boolean endReached = entities.isEmpty() || page >= response.getTotalPages();
+        long now = System.currentTimeMillis();
+
+        // Keep server ordering across pages
+        int offset = (page - 1) * TMDB_PAGE_SIZE;
+        List<FeedEntryEntity> entries = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            MovieEntity entity = entities.get(i);
+            entity.setFetchedAt(now);
+            entity.setTtlMillis(cachePolicy.getTtlMillis());
+            entries.add(new FeedEntryEntity(feed.name(), entity.getId(), offset + i, now));
+        }
+
+        MovieWriter.WriteResult merged = database.runInTransaction(() -> {
+            FeedPageKey previousKey = pageKeyDao.getPageKeySync(feed.name());
+            long refreshedAt = refresh || previousKey == null
+                ? now
+                : previousKey.getRefreshedAt();
+
+            MovieWriter.WriteResult result = movieWriter.mergeUnpublished(entities, false);
+            if (refresh) {
+                feedEntryDao.replaceFeed(feed.name(), entries);
+            } else {
+                feedEntryDao.insertEntries(entries);
+            }
+            pageKeyDao.insertPageKey(new FeedPageKey(
+                feed.name(),
+                endReached ? null : page + 1,
+                response.getTotalPages(),
+                refreshedAt
+            ));
+            return result;
+        });
+        // Rows, entries and page key committed together; only now do listeners hear of the rows
+        movieWriter.publish(merged);
+        if (AppLog.isLoggable(Log.DEBUG)) {
+            Log.d(TAG, "Stored " + feed + " page " + page + " of " + response.getTotalPages());
+        }
+        return endReached;
+    }
+}
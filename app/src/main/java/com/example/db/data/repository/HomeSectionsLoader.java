@@ -0,0 +1,52 @@
+package com.example.db.data.repository;
+
+import android.util.Log;
+import com.example.db.data.local.Feed;
+import com.example.db.data.paging.FeedSource;
+import com.example.db.util.AppSchedulers;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+// Refreshes all Home sections at once. Every section is subscribed on its own IO worker and
+// reports its state as soon as it settles, so one slow or failing feed never holds back the
+// others and adding a section adds no serial step.
+@Singleton
+public class HomeSectionsLoader {
+    private static final String TAG = "HomeSectionsLoader";
+
+    private final FeedSource feedSource;
+    private final Scheduler scheduler;
+
+    @Inject
+    public HomeSectionsLoader(FeedSource feedSource, AppSchedulers schedulers) {
+        this(feedSource, schedulers.io());
+    }
+
+    HomeSectionsLoader(FeedSource feedSource, Scheduler scheduler) {
+        this.feedSource = feedSource;
+        this.scheduler = scheduler;
+    }
+
+    // Sections whose cached first page is still fresh are reported ready without a fetch,
+    // unless force is set
+    public Observable<SectionState> load(List<Feed> sections, boolean force) {
+        return Observable.fromIterable(sections)
+            .flatMap(feed -> loadSection(feed, force).subscribeOn(scheduler));
+    }
+
+    private Observable<SectionState> loadSection(Feed feed, boolean force) {
+        return (force ? Observable.just(false) : feedSource.isFresh(feed).onErrorReturnItem(false).toObservable())
+            .flatMap(fresh -> fresh
+                ? Observable.just(SectionState.ready(feed))
+                : feedSource.refresh(feed)
+                    .andThen(Observable.just(SectionState.ready(feed)))
+                    .startWithItem(SectionState.loading(feed)))
+            .onErrorReturn(error -> {
+                Log.e(TAG, "Failed to load " + feed + " section: " + error.getMessage());
+                return SectionState.error(feed, error);
+            });
+    }
+}
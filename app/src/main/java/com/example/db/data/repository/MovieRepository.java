@@ -1,187 +1,281 @@
 package com.example.db.data.repository;
 
 import android.util.Log;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.rxjava3.PagingRx;
 import com.example.db.data.api.MovieApiService;
+import com.example.db.data.cache.CacheEndpoint;
+import com.example.db.data.cache.CachePolicies;
+import com.example.db.data.cache.CachePolicy;
+import com.example.db.data.cache.CacheState;
+import com.example.db.data.images.PinnedImageStore;
+import com.example.db.data.local.Feed;
+import com.example.db.data.local.FtsQuery;
+import com.example.db.data.local.BookmarkDao;
+import com.example.db.data.local.BookmarkEntity;
+import com.example.db.data.local.BookmarkIndex;
 import com.example.db.data.local.MovieDao;
+import com.example.db.data.local.MovieDatabase;
 import com.example.db.data.local.MovieEntity;
 import com.example.db.data.local.MovieMapper;
+import com.example.db.data.local.MovieWriter;
+import com.example.db.data.local.StorageManager;
+import com.example.db.data.local.WriteQueue;
 import com.example.db.data.model.Movie;
+import com.example.db.data.model.MovieResponse;
+import com.example.db.data.paging.FeedRemoteMediator;
+import com.example.db.data.paging.FeedSync;
+import com.example.db.data.search.SearchSource;
+import com.example.db.util.AppLog;
+import com.example.db.util.AppSchedulers;
+import dagger.Lazy;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Singleton
-public class MovieRepository {
+public class MovieRepository implements SearchSource {
     private static final String TAG = "MovieRepo";
     private static final String DEFAULT_LANGUAGE = "en-US";
+    private static final int LOCAL_SEARCH_LIMIT = 50;
+    private static final int PAGE_SIZE = FeedSync.TMDB_PAGE_SIZE;
+    private static final int PREFETCH_DISTANCE = PAGE_SIZE;
+    private static final int MAX_CACHED_ITEMS = PAGE_SIZE * 10;
 
-    private final MovieApiService movieApiService;
+    // Lazy so the Home screen can build its ViewModel before Retrofit and Gson exist
+    private final Lazy<MovieApiService> movieApiService;
+    private final MovieDatabase movieDatabase;
     private final MovieDao movieDao;
+    private final BookmarkDao bookmarkDao;
+    private final BookmarkIndex bookmarkIndex;
+    private final MovieWriter movieWriter;
     private final MovieMapper movieMapper;
-    private final String apiKey;
+    private final FeedSync feedSync;
+    private final CachePolicies cachePolicies;
+    private final PinnedImageStore pinnedImages;
+    private final WriteQueue writeQueue;
+    private final StorageManager storageManager;
+    private final AppSchedulers schedulers;
 
     @Inject
     public MovieRepository(
-        MovieApiService movieApiService,
+        Lazy<MovieApiService> movieApiService,
+        MovieDatabase movieDatabase,
         MovieDao movieDao,
+        BookmarkDao bookmarkDao,
+        BookmarkIndex bookmarkIndex,
+        MovieWriter movieWriter,
         MovieMapper movieMapper,
-        String apiKey
+        FeedSync feedSync,
+        CachePolicies cachePolicies,
+        PinnedImageStore pinnedImages,
+        WriteQueue writeQueue,
+        StorageManager storageManager,
+        AppSchedulers schedulers
     ) {
         this.movieApiService = movieApiService;
+        this.movieDatabase = movieDatabase;
         this.movieDao = movieDao;
+        this.bookmarkDao = bookmarkDao;
+        this.bookmarkIndex = bookmarkIndex;
+        this.movieWriter = movieWriter;
         this.movieMapper = movieMapper;
-        this.apiKey = apiKey;
-        
-        Log.d(TAG, "Repository initialized with API key: " + (apiKey != null ? apiKey.substring(0, 5) + "..." : "null"));
-    }
-
-    public Single<List<Movie>> getTrendingMovies() {
-        Log.d(TAG, "Getting trending movies");
-        return movieDao.getTrendingMovies()
-                .map(entities -> {
-                    Log.d(TAG, "Found " + entities.size() + " trending movies in local DB");
-                    return movieMapper.toDomainList(entities);
-                })
-                .onErrorResumeNext(throwable -> {
-                    Log.e(TAG, "Error getting trending movies from DB: " + throwable.getMessage());
-                    return movieApiService.getTrendingMovies(DEFAULT_LANGUAGE, 1)
-                        .map(response -> {
-                            Log.d(TAG, "API returned " + (response.getResults() != null ? response.getResults().size() : 0) + " trending movies");
-                            return response.getResults();
-                        })
-                        .doOnSuccess(movies -> saveMovies(movies, true))
-                        .doOnError(error -> Log.e(TAG, "API error getting trending movies: " + error.getMessage()));
-                });
+        this.feedSync = feedSync;
+        this.cachePolicies = cachePolicies;
+        this.pinnedImages = pinnedImages;
+        this.writeQueue = writeQueue;
+        this.storageManager = storageManager;
+        this.schedulers = schedulers;
     }
 
-    public Single<List<Movie>> getNowPlayingMovies() {
-        Log.d(TAG, "Getting now playing movies");
-        return movieDao.getNowPlayingMovies()
-                .map(entities -> {
-                    Log.d(TAG, "Found " + entities.size() + " now playing movies in local DB");
-                    return movieMapper.toDomainList(entities);
-                })
-                .onErrorResumeNext(throwable -> {
-                    Log.e(TAG, "Error getting now playing movies from DB: " + throwable.getMessage());
-                    return movieApiService.getNowPlayingMovies(DEFAULT_LANGUAGE, 1)
-                        .map(response -> {
-                            Log.d(TAG, "API returned " + (response.getResults() != null ? response.getResults().size() : 0) + " now playing movies");
-                            return response.getResults();
-                        })
-                        .doOnSuccess(movies -> saveMovies(movies, false))
-                        .doOnError(error -> Log.e(TAG, "API error getting now playing movies: " + error.getMessage()));
-                });
+    public Flowable<PagingData<Movie>> getFeed(Feed feed) {
+        Pager<Integer, Movie> pager = new Pager<>(
+            new PagingConfig(PAGE_SIZE, PREFETCH_DISTANCE, false, PAGE_SIZE * 2, MAX_CACHED_ITEMS),
+            null,
+            new FeedRemoteMediator(feed, feedSync),
+            () -> movieDao.getFeedMoviesPaged(feed.name())
+        );
+        return PagingRx.getFlowable(pager);
     }
 
-    public Single<List<Movie>> searchMovies(String query) {
-        return movieApiService.searchMovies(query, DEFAULT_LANGUAGE, 1, false)
-            .map(response -> response.getResults())
-            .doOnSuccess(movies -> {
+    @Override
+    public Single<MovieResponse> searchRemote(String query, int page) {
+        // Deferred so the first search, not the screen that assembles it, pays for building Retrofit
+        return Single.defer(() -> movieApiService.get().searchMovies(query, DEFAULT_LANGUAGE, page, false))
+            .doOnSuccess(response -> {
+                List<Movie> movies = response.getResults();
                 if (movies != null && !movies.isEmpty()) {
                     // Save search results to database
-                    saveMovies(movies, false);
+                    saveMovies(movies, CacheEndpoint.SEARCH);
                 }
-            })
-            .onErrorResumeNext(throwable -> {
-                // On network error, try to search in the local database (partial match)
-                return movieDao.getAllMovies()
-                    .firstOrError()
-                    .map(entities -> {
-                        List<Movie> allMovies = movieMapper.toDomainList(entities);
-                        List<Movie> filteredMovies = new ArrayList<>();
-                        String lowercaseQuery = query.toLowerCase();
-                        for (Movie movie : allMovies) {
-                            if (movie.getTitle().toLowerCase().contains(lowercaseQuery)) {
-                                filteredMovies.add(movie);
-                            }
-                        }
-                        return filteredMovies;
-                    })
-                    .onErrorReturn(error -> new ArrayList<>());
             });
     }
 
+    // Full-text index over cached movies; shown while the network is still answering, and on
+    // its own when the network fails
+    @Override
+    public Single<List<Movie>> searchLocal(String query) {
+        List<String> tokens = FtsQuery.tokens(query);
+        if (tokens.isEmpty()) {
+            return Single.just(new ArrayList<>());
+        }
+        return movieDao.searchMovies(FtsQuery.match(tokens), FtsQuery.titleMatch(tokens), LOCAL_SEARCH_LIMIT)
+            .doOnSuccess(this::recordAccess)
+            .onErrorReturn(error -> new ArrayList<>());
+    }
+
     public Flowable<List<Movie>> getBookmarkedMovies() {
-        return movieDao.getBookmarkedMovies()
-            .map(entities -> movieMapper.toDomainList(entities));
+        return movieDao.getBookmarkedMovies();
     }
 
+    // Bookmarks live in their own table, so feed refreshes can no longer clear them. The artwork
+    // is pinned in the background; the bookmark itself does not wait for the download.
     public Completable bookmarkMovie(Movie movie) {
-        movie.setBookmarked(true);
-        return Completable.fromAction(() -> 
-            movieDao.insertMovie(movieMapper.toEntity(movie))
-        );
+        return Completable.fromAction(() -> {
+                movieDatabase.runInTransaction(() -> {
+                    movieDao.insertMovieIfAbsent(movieMapper.toEntity(movie));
+                    bookmarkDao.insertBookmark(new BookmarkEntity(movie.getId(), System.currentTimeMillis()));
+                });
+                bookmarkIndex.set(movie.getId(), true);
+            })
+            .doOnComplete(() -> pinArtwork(movie));
+    }
+
+    // Decides at subscription, on the database writer, so it sees every earlier bookmark write.
+    // Feed rows carry no bookmark state, so until the index has loaded the table is asked.
+    public Completable toggleBookmark(Movie movie) {
+        return Completable.defer(() -> {
+            boolean bookmarked = bookmarkIndex.isLoaded()
+                ? bookmarkIndex.contains(movie.getId())
+                : bookmarkDao.isBookmarked(movie.getId());
+            return bookmarked ? unbookmarkMovie(movie) : bookmarkMovie(movie);
+        });
     }
 
     public Completable unbookmarkMovie(Movie movie) {
-        movie.setBookmarked(false);
-        return Completable.fromAction(() ->
-            movieDao.insertMovie(movieMapper.toEntity(movie))
-        );
+        return Completable.fromAction(() -> {
+                bookmarkDao.deleteBookmark(movie.getId());
+                bookmarkIndex.set(movie.getId(), false);
+            })
+            .andThen(withArtworkPaths(movie).flatMapCompletable(pinnedImages::unpin).onErrorComplete());
+    }
+
+    // Downloads and file writes, so it runs on io rather than holding up the database writer
+    private void pinArtwork(Movie movie) {
+        writeQueue.enqueue("pin artwork", withArtworkPaths(movie)
+            .flatMapCompletable(full -> pinnedImages.pin(full)
+                // An unbookmark that raced the download leaves nothing behind
+                .andThen(Completable.defer(() -> bookmarkDao.isBookmarked(full.getId())
+                    ? Completable.complete()
+                    : pinnedImages.unpin(full))))
+            .subscribeOn(schedulers.io()));
+    }
+
+    // List rows leave out the backdrop path, so read the stored row for the full set of paths
+    private Single<Movie> withArtworkPaths(Movie movie) {
+        return movieDao.getMovieById(movie.getId())
+            .map(movieMapper::fromRow)
+            .onErrorReturnItem(movie);
+    }
+
+    // Background sync: refetches bookmarked details that are no longer fresh and pins whatever
+    // artwork is missing, which also covers bookmarks made before pinning existed
+    public Completable revalidateBookmarks() {
+        CachePolicy policy = cachePolicies.policyFor(CacheEndpoint.DETAILS);
+        return Single.fromCallable(movieDao::getBookmarkedMovieEntities)
+            .flattenAsFlowable(entities -> entities)
+            // One failed movie should not stop the rest; the error is reported once all have run
+            .concatMapCompletableDelayError(entity -> {
+                Movie stored = movieMapper.fromEntity(entity, true);
+                CacheState state = policy.evaluate(entity.getFetchedAt(), entity.getTtlMillis(), System.currentTimeMillis());
+                if (state == CacheState.FRESH) {
+                    return pinnedImages.pin(stored);
+                }
+                return movieApiService.get().getMovieDetails(entity.getId(), DEFAULT_LANGUAGE)
+                    .observeOn(schedulers.databaseWrite())
+                    .flatMapCompletable(movie -> Completable.fromAction(
+                            () -> movieWriter.merge(toCachedEntity(movie, CacheEndpoint.DETAILS), true))
+                        .andThen(pinnedImages.pin(movie).subscribeOn(schedulers.io())));
+            })
+            .subscribeOn(schedulers.io());
     }
 
     public Single<Movie> getMovieById(int movieId) {
+        CachePolicy policy = cachePolicies.policyFor(CacheEndpoint.DETAILS);
+        Single<Movie> remote = Single.defer(() -> movieApiService.get().getMovieDetails(movieId, DEFAULT_LANGUAGE))
+            .map(movie -> movie.withBookmarked(bookmarkIndex.isLoaded()
+                ? bookmarkIndex.contains(movieId)
+                : bookmarkDao.isBookmarked(movieId)))
+            .doOnSuccess(movie -> writeQueue.enqueue("cache details",
+                Completable.fromAction(() -> movieWriter.merge(toCachedEntity(movie, CacheEndpoint.DETAILS), true))));
+
         return movieDao.getMovieById(movieId)
-            .map(entity -> movieMapper.fromEntity(entity))
-            .onErrorResumeNext(throwable ->
-                movieApiService.getMovieDetails(movieId, DEFAULT_LANGUAGE)
-                    .doOnSuccess(movie -> {
-                        // Save the movie to the database
-                        Completable.fromAction(() -> 
-                            movieDao.insertMovie(movieMapper.toEntity(movie))
-                        )
-                        .subscribeOn(Schedulers.io())
-                        .subscribe(() -> {}, error -> {});
-                    })
-            );
+            .flatMap(row -> {
+                storageManager.recordAccess(Collections.singletonList(movieId));
+                Movie cached = movieMapper.fromRow(row);
+                CacheState state = policy.evaluate(row.movie.getFetchedAt(), row.movie.getTtlMillis(), System.currentTimeMillis());
+                if (state == CacheState.STALE) {
+                    // Serve the cached row now, refresh it for next time; offline, the row just stays stale
+                    writeQueue.enqueue("refresh details",
+                        remote.subscribeOn(schedulers.io()).ignoreElement().onErrorComplete());
+                } else if (state == CacheState.EXPIRED) {
+                    return remote.onErrorReturnItem(cached);
+                }
+                return Single.just(cached);
+            })
+            .onErrorResumeNext(throwable -> remote);
+    }
+
+    // Keeps movies the user keeps finding in search from being evicted first
+    private void recordAccess(List<Movie> movies) {
+        List<Integer> ids = new ArrayList<>(movies.size());
+        for (Movie movie : movies) {
+            ids.add(movie.getId());
+        }
+        storageManager.recordAccess(ids);
     }
 
+    // The deleted ids are read in the same transaction, so title suggestions drop exactly those
     public Completable deleteNonBookmarkedMovies() {
-        return movieDao.deleteNonBookmarkedMovies()
-                .subscribeOn(Schedulers.io());
+        return Completable.fromAction(() -> {
+                List<Integer> removed = movieDatabase.runInTransaction(() -> {
+                    List<Integer> ids = movieDao.getNonBookmarkedIds();
+                    movieDao.deleteNonBookmarkedMovies();
+                    return ids;
+                });
+                movieWriter.publishRemoved(removed);
+            })
+            .subscribeOn(schedulers.databaseWrite());
     }
 
-    private void saveMovies(List<Movie> movies, boolean isTrending) {
-        Log.d(TAG, "Saving " + (movies != null ? movies.size() : 0) + " movies to database, isTrending=" + isTrending);
-        Completable.fromAction(() -> {
+    private void saveMovies(List<Movie> movies, CacheEndpoint endpoint) {
+        writeQueue.enqueue("save " + endpoint, Completable.fromAction(() -> {
+            long now = System.currentTimeMillis();
+            long ttlMillis = cachePolicies.policyFor(endpoint).getTtlMillis();
             List<MovieEntity> entities = movieMapper.toEntityList(movies);
             for (MovieEntity entity : entities) {
-                entity.setBookmarked(false);
-                entity.setTrending(isTrending);
+                entity.setFetchedAt(now);
+                entity.setTtlMillis(ttlMillis);
             }
-            movieDao.insertMovies(entities);
-            Log.d(TAG, "Successfully saved movies to database");
-        })
-        .subscribeOn(Schedulers.io())
-        .subscribe(() -> {}, throwable -> {
-            Log.e(TAG, "Error saving movies to database: " + throwable.getMessage());
-        });
-    }
-    
-    // Force fetch from network, bypassing local database
-    public Single<List<Movie>> getTrendingMovies(boolean forceRefresh) {
-        if (forceRefresh) {
-            return movieApiService.getTrendingMovies(DEFAULT_LANGUAGE, 1)
-                .map(response -> response.getResults())
-                .doOnSuccess(movies -> saveMovies(movies, true));
-        } else {
-            return getTrendingMovies();
-        }
+            MovieWriter.WriteResult result = movieWriter.merge(entities, false);
+            if (AppLog.isLoggable(Log.DEBUG)) {
+                Log.d(TAG, "Saved " + entities.size() + " movies to database: " + result.getWritten() + " written, "
+                    + result.getSkipped() + " unchanged");
+            }
+        }));
     }
-    
-    // Force fetch from network, bypassing local database
-    public Single<List<Movie>> getNowPlayingMovies(boolean forceRefresh) {
-        if (forceRefresh) {
-            return movieApiService.getNowPlayingMovies(DEFAULT_LANGUAGE, 1)
-                .map(response -> response.getResults())
-                .doOnSuccess(movies -> saveMovies(movies, false));
-        } else {
-            return getNowPlayingMovies();
-        }
+
+    private MovieEntity toCachedEntity(Movie movie, CacheEndpoint endpoint) {
+        MovieEntity entity = movieMapper.toEntity(movie);
+        entity.setFetchedAt(System.currentTimeMillis());
+        entity.setTtlMillis(cachePolicies.policyFor(endpoint).getTtlMillis());
+        return entity;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
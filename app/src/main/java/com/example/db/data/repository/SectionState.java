@@ -0,0 +1,46 @@
+package com.example.db.data.repository;
+
+import com.example.db.data.local.Feed;
+
+// Load state of one Home section, reported independently of the other sections
+public class SectionState {
+    public enum Status {
+        LOADING,
+        READY,
+        ERROR
+    }
+
+    private final Feed feed;
+    private final Status status;
+    private final Throwable error;
+
+    private SectionState(Feed feed, Status status, Throwable error) {
+        this.feed = feed;
+        this.status = status;
+        this.error = error;
+    }
+
+    public static SectionState loading(Feed feed) {
+        return new SectionState(feed, Status.LOADING, null);
+    }
+
+    public static SectionState ready(Feed feed) {
+        return new SectionState(feed, Status.READY, null);
+    }
+
+    public static SectionState error(Feed feed, Throwable error) {
+        return new SectionState(feed, Status.ERROR, error);
+    }
+
+    public Feed getFeed() {
+        return feed;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+}
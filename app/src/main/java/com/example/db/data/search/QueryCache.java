@@ -0,0 +1,55 @@
+package com.example.db.data.search;
+
+import com.example.db.data.model.MovieResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Access-ordered LRU of search pages keyed by normalized query and page. Entries older than
+// the lifetime are treated as missing so a long-lived screen does not show day-old results.
+class QueryCache {
+    private final int maxEntries;
+    private final long lifetimeMillis;
+    private final LinkedHashMap<String, Entry> entries;
+
+    QueryCache(int maxEntries, long lifetimeMillis) {
+        this.maxEntries = maxEntries;
+        this.lifetimeMillis = lifetimeMillis;
+        entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > QueryCache.this.maxEntries;
+            }
+        };
+    }
+
+    synchronized MovieResponse get(String query, int page, long now) {
+        String key = key(query, page);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (now - entry.storedAt >= lifetimeMillis) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.response;
+    }
+
+    synchronized void put(String query, int page, MovieResponse response, long now) {
+        entries.put(key(query, page), new Entry(response, now));
+    }
+
+    private static String key(String query, int page) {
+        return page + "|" + query;
+    }
+
+    private static class Entry {
+        final MovieResponse response;
+        final long storedAt;
+
+        Entry(MovieResponse response, long storedAt) {
+            this.response = response;
+            this.storedAt = storedAt;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.db.data.search;
+
+import androidx.annotation.Nullable;
+import com.example.db.data.model.Movie;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Folds the local and network answers for one query into what the grid shows. Movies already
+// on screen keep their positions, so the grid only grows at the end when the network answers.
+// Not thread-safe; the engine feeds it from one serialized stream.
+class ResultMerger {
+    private final String query;
+    @Nullable
+    private List<Movie> local;
+    private boolean remoteFailed;
+    private boolean settled;
+
+    ResultMerger(String query) {
+        this.query = query;
+    }
+
+    @Nullable
+    SearchResult accept(SearchResult event) {
+        if (settled) {
+            return null;
+        }
+        if (event.getSource() == SearchResult.Source.LOCAL) {
+            return onLocal(event.getMovies());
+        }
+        return event.getError() != null ? onRemoteFailed() : onRemote(event);
+    }
+
+    @Nullable
+    private SearchResult onLocal(List<Movie> movies) {
+        local = movies;
+        if (remoteFailed) {
+            // Offline: the index is the whole answer, even when empty
+            settled = true;
+            return SearchResult.local(query, movies, true);
+        }
+        // An empty index result would only flash the empty state before the network answers
+        return movies.isEmpty() ? null : SearchResult.local(query, movies, false);
+    }
+
+    @Nullable
+    private SearchResult onRemoteFailed() {
+        remoteFailed = true;
+        if (local == null) {
+            return null;
+        }
+        settled = true;
+        return SearchResult.local(query, local, true);
+    }
+
+    private SearchResult onRemote(SearchResult remote) {
+        settled = true;
+        if (local == null || local.isEmpty()) {
+            return SearchResult.remote(query, remote.getMovies(), 0, remote.getTotalPages());
+        }
+        Map<Integer, Movie> unseen = new LinkedHashMap<>();
+        for (Movie movie : remote.getMovies()) {
+            unseen.put(movie.getId(), movie);
+        }
+        List<Movie> merged = new ArrayList<>(local.size() + unseen.size());
+        for (Movie shown : local) {
+            // Fresher network fields, with the bookmark state only the database knows
+            Movie fetched = unseen.remove(shown.getId());
+            merged.add(fetched == null ? shown : fetched.withBookmarked(shown.isBookmarked()));
+        }
+        merged.addAll(unseen.values());
+        return SearchResult.remote(query, merged, local.size(), remote.getTotalPages());
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.db.data.search;
+
+import com.example.db.data.cache.CacheEndpoint;
+import com.example.db.data.cache.CachePolicies;
+import com.example.db.data.model.Movie;
+import com.example.db.data.model.MovieResponse;
+import com.example.db.util.AppSchedulers;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+// Search-as-you-type. Only the latest query is ever answered: a new query disposes the
+// previous one, which cancels its HTTP call before the response is parsed or stored. Answered
+// pages are kept in a small LRU so backspacing to an earlier query needs no round trip.
+// Matches from the on-device index are shown first and the network page is merged into them.
+@Singleton
+public class SearchEngine {
+    static final int MAX_CACHED_PAGES = 48;
+
+    private final SearchSource source;
+    private final AppSchedulers schedulers;
+    private final QueryCache cache;
+    private final AtomicLong networkCalls = new AtomicLong();
+    private final AtomicLong cancelledCalls = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong localFirst = new AtomicLong();
+    private final AtomicLong answered = new AtomicLong();
+    private final AtomicLong answeredLocally = new AtomicLong();
+
+    @Inject
+    public SearchEngine(SearchSource source, CachePolicies cachePolicies, AppSchedulers schedulers) {
+        this.source = source;
+        this.schedulers = schedulers;
+        // Same freshness as the search rows stored in Room
+        cache = new QueryCache(MAX_CACHED_PAGES, cachePolicies.policyFor(CacheEndpoint.SEARCH).getTtlMillis());
+    }
+
+    // "  Blade   RUNNER " and "blade runner" share one cache entry and one request
+    public static String normalize(String query) {
+        return query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // First pages for a stream of typed queries: the local matches as soon as the index has
+    // them, then one complete result once the network answers or fails. Blank queries cancel
+    // the search in flight and emit nothing.
+    public Observable<SearchResult> latest(Observable<String> queries) {
+        return queries.switchMap(raw -> {
+            String query = normalize(raw);
+            if (query.isEmpty()) {
+                return Observable.<SearchResult>empty();
+            }
+            return answer(query);
+        });
+    }
+
+    private Observable<SearchResult> answer(String query) {
+        return Observable.defer(() -> {
+            ResultMerger merger = new ResultMerger(query);
+            Observable<SearchResult> local = source.searchLocal(query)
+                .subscribeOn(schedulers.io())
+                .onErrorReturnItem(Collections.emptyList())
+                .map(movies -> SearchResult.local(query, movies, false))
+                .toObservable();
+            Observable<SearchResult> remote = search(query, 1)
+                .subscribeOn(schedulers.io())
+                .map(response -> SearchResult.remote(query, resultsOf(response), 0, response.getTotalPages()))
+                .onErrorReturn(error -> SearchResult.failure(query, error))
+                .toObservable();
+            // merge() serializes the two answers, so the merger sees one at a time
+            return Observable.merge(local, remote)
+                .concatMapMaybe(event -> Maybe.fromCallable(() -> merger.accept(event)))
+                .doOnNext(this::record);
+        });
+    }
+
+    private void record(SearchResult result) {
+        if (!result.isComplete()) {
+            localFirst.incrementAndGet();
+            return;
+        }
+        answered.incrementAndGet();
+        if (result.isAnsweredLocally()) {
+            answeredLocally.incrementAndGet();
+        }
+    }
+
+    // Next pages can repeat movies the merged first page already shows
+    public static List<Movie> appendPage(List<Movie> shown, List<Movie> page) {
+        Map<Integer, Movie> byId = new LinkedHashMap<>();
+        for (Movie movie : shown) {
+            byId.put(movie.getId(), movie);
+        }
+        for (Movie movie : page) {
+            if (!byId.containsKey(movie.getId())) {
+                byId.put(movie.getId(), movie);
+            }
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    private static List<Movie> resultsOf(MovieResponse response) {
+        return response.getResults() != null ? response.getResults() : Collections.emptyList();
+    }
+
+    // Network pages only; disposing the returned Single before it succeeds cancels the request
+    public Single<MovieResponse> search(String rawQuery, int page) {
+        String query = normalize(rawQuery);
+        return Single.defer(() -> {
+            MovieResponse cached = cache.get(query, page, System.currentTimeMillis());
+            if (cached != null) {
+                cacheHits.incrementAndGet();
+                return Single.just(cached);
+            }
+            AtomicBoolean finished = new AtomicBoolean();
+            return source.searchRemote(query, page)
+                .doOnSubscribe(disposable -> networkCalls.incrementAndGet())
+                .doOnEvent((response, error) -> finished.set(true))
+                .doOnDispose(() -> {
+                    if (!finished.get()) {
+                        cancelledCalls.incrementAndGet();
+                    }
+                })
+                .doOnSuccess(response -> cache.put(query, page, response, System.currentTimeMillis()));
+        });
+    }
+
+    public long getNetworkCalls() {
+        return networkCalls.get();
+    }
+
+    public long getCancelledCalls() {
+        return cancelledCalls.get();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    // Searches that showed local matches before the network answered
+    public long getLocalFirst() {
+        return localFirst.get();
+    }
+
+    public long getAnswered() {
+        return answered.get();
+    }
+
+    // Answered searches where the network page added nothing to the local matches
+    public long getAnsweredLocally() {
+        return answeredLocally.get();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.db.data.search;
+
+import androidx.annotation.Nullable;
+import com.example.db.data.model.Movie;
+import java.util.Collections;
+import java.util.List;
+
+// What the first page of a search shows at one point in time. A LOCAL result holds matches
+// from the on-device index only; a REMOTE result is the network page merged into them, with
+// the first getLocalCount() movies kept where the local result had put them. The query is the
+// normalized form the engine searched for.
+public final class SearchResult {
+    public enum Source {
+        LOCAL,
+        REMOTE
+    }
+
+    private final String query;
+    private final Source source;
+    private final List<Movie> movies;
+    private final int localCount;
+    private final int totalPages;
+    private final boolean complete;
+    @Nullable
+    private final Throwable error;
+
+    private SearchResult(String query, Source source, List<Movie> movies, int localCount, int totalPages,
+                         boolean complete, @Nullable Throwable error) {
+        this.query = query;
+        this.source = source;
+        this.movies = movies;
+        this.localCount = localCount;
+        this.totalPages = totalPages;
+        this.complete = complete;
+        this.error = error;
+    }
+
+    // complete is false while the network may still add to the list
+    static SearchResult local(String query, List<Movie> movies, boolean complete) {
+        return new SearchResult(query, Source.LOCAL, movies, movies.size(), complete ? 1 : 0, complete, null);
+    }
+
+    static SearchResult remote(String query, List<Movie> movies, int localCount, int totalPages) {
+        return new SearchResult(query, Source.REMOTE, movies, localCount, totalPages, true, null);
+    }
+
+    static SearchResult failure(String query, Throwable error) {
+        return new SearchResult(query, Source.REMOTE, Collections.emptyList(), 0, 0, true, error);
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    public List<Movie> getMovies() {
+        return movies;
+    }
+
+    public int getLocalCount() {
+        return localCount;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Nullable
+    public Throwable getError() {
+        return error;
+    }
+
+    // The network page added nothing the local index had not already shown
+    public boolean isAnsweredLocally() {
+        return complete && localCount > 0 && localCount == movies.size();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.db.data.search;
+
+import com.example.db.data.model.Movie;
+import com.example.db.data.model.MovieResponse;
+import io.reactivex.rxjava3.core.Single;
+import java.util.List;
+
+// Where search answers come from: a TMDB page, cancelled when the subscription is disposed,
+// and the full-text index over cached movies, which carries bookmark state and never fails
+public interface SearchSource {
+    Single<MovieResponse> searchRemote(String query, int page);
+
+    Single<List<Movie>> searchLocal(String query);
+}
@@ -0,0 +1,521 @@
+package com.example.db.data.search;
+
+import com.example.db.data.local.TitleRow;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Prefix index over movie titles for autocomplete. Immutable: plus() and minus() return a new
+// version, so the UI thread reads whichever version is current without locking.
+//
+// Folded titles (lowercase, accents and punctuation dropped) share one char pool. Every word
+// start of every title is a key, packed as (slot << 32 | offset) and sorted by the text that
+// follows it, so a lookup is a binary search for the prefix plus a scan of the keys that start
+// with it. A batch of new rows is sorted on its own and merged into the existing keys.
+public final class TitleIndex {
+    private static final int DEAD = -1;
+    // A match on the first word ranks above any match on a later word
+    private static final float TITLE_START_BONUS = 100f;
+
+    private final int capacity;
+    private final int slotCount;
+    private final int liveCount;
+    // Per slot; a replaced or evicted title leaves a DEAD slot until the next compaction
+    private final int[] ids;
+    private final String[] titles;
+    private final float[] scores;
+    // Slot s owns pool[starts[s]] up to pool[starts[s + 1]]
+    private final int[] starts;
+    private final char[] pool;
+    private final long[] keys;
+    // (id << 32 | slot) for live slots, sorted by id
+    private final long[] idSlots;
+
+    private TitleIndex(int capacity, int slotCount, int liveCount, int[] ids, String[] titles, float[] scores,
+                       int[] starts, char[] pool, long[] keys, long[] idSlots) {
+        this.capacity = capacity;
+        this.slotCount = slotCount;
+        this.liveCount = liveCount;
+        this.ids = ids;
+        this.titles = titles;
+        this.scores = scores;
+        this.starts = starts;
+        this.pool = pool;
+        this.keys = keys;
+        this.idSlots = idSlots;
+    }
+
+    // Past capacity titles, the lowest-rated ones are dropped
+    public static TitleIndex empty(int capacity) {
+        return new TitleIndex(capacity, 0, 0, new int[0], new String[0], new float[0], new int[1], new char[0],
+            new long[0], new long[0]);
+    }
+
+    // "Amélie: Le Fabuleux" -> "amelie le fabuleux"
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        boolean afterSpace = true;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                folded.append(Character.toLowerCase(c));
+                afterSpace = false;
+            } else if (!afterSpace) {
+                folded.append(' ');
+                afterSpace = true;
+            }
+        }
+        int length = folded.length();
+        if (length > 0 && folded.charAt(length - 1) == ' ') {
+            folded.setLength(length - 1);
+        }
+        return folded.toString();
+    }
+
+    // Adds or updates titles; a row whose id is already indexed replaces it
+    public TitleIndex plus(List<TitleRow> rows) {
+        Map<Integer, TitleRow> unique = new LinkedHashMap<>();
+        for (TitleRow row : rows) {
+            unique.put(row.id, row);
+        }
+        if (unique.isEmpty()) {
+            return this;
+        }
+
+        int maxSlots = slotCount + unique.size();
+        int[] newIds = Arrays.copyOf(ids, maxSlots);
+        String[] newTitles = Arrays.copyOf(titles, maxSlots);
+        float[] newScores = Arrays.copyOf(scores, maxSlots);
+        int[] newStarts = Arrays.copyOf(starts, maxSlots + 1);
+        StringBuilder appended = new StringBuilder();
+        int poolEnd = starts[slotCount];
+        List<Long> addedKeys = new ArrayList<>();
+        long[] addedIdSlots = new long[unique.size()];
+        int added = 0;
+        int slots = slotCount;
+        int live = liveCount;
+        int killed = 0;
+
+        for (TitleRow row : unique.values()) {
+            String folded = fold(row.title);
+            int existing = slotOf(row.id);
+            if (existing != DEAD) {
+                if (!folded.isEmpty() && regionEquals(existing, folded)) {
+                    // Same text, so its keys stay where they are
+                    newTitles[existing] = row.title;
+                    newScores[existing] = (float) row.voteAverage;
+                    continue;
+                }
+                newIds[existing] = DEAD;
+                newTitles[existing] = null;
+                live--;
+                killed++;
+            }
+            if (folded.isEmpty()) {
+                continue;
+            }
+            int slot = slots++;
+            newIds[slot] = row.id;
+            newTitles[slot] = row.title;
+            newScores[slot] = (float) row.voteAverage;
+            newStarts[slot] = poolEnd + appended.length();
+            for (int offset = 0; offset < folded.length(); offset++) {
+                if (offset == 0 || folded.charAt(offset - 1) == ' ') {
+                    addedKeys.add(key(slot, offset));
+                }
+            }
+            appended.append(folded);
+            newStarts[slot + 1] = poolEnd + appended.length();
+            addedIdSlots[added++] = ((long) row.id << 32) | slot;
+            live++;
+        }
+
+        char[] newPool = Arrays.copyOf(pool, poolEnd + appended.length());
+        appended.getChars(0, appended.length(), newPool, poolEnd);
+        if (slots < maxSlots) {
+            newIds = Arrays.copyOf(newIds, slots);
+            newTitles = Arrays.copyOf(newTitles, slots);
+            newScores = Arrays.copyOf(newScores, slots);
+            newStarts = Arrays.copyOf(newStarts, slots + 1);
+        }
+
+        // Only the batch is sorted; the existing keys are already in order
+        int[] keyStarts = newStarts;
+        Collections.sort(addedKeys, (a, b) -> compareKeys(a, b, newPool, keyStarts));
+        long[] mergedKeys = killed == 0
+            ? insertKeys(addedKeys, newPool, newStarts)
+            : mergeKeys(addedKeys, newIds, newPool, newStarts);
+
+        Arrays.sort(addedIdSlots, 0, added);
+        long[] mergedIdSlots = new long[idSlots.length + added];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < idSlots.length || j < added) {
+            if (i < idSlots.length && newIds[(int) idSlots[i]] == DEAD) {
+                i++;
+            } else if (j == added || (i < idSlots.length && idSlots[i] < addedIdSlots[j])) {
+                mergedIdSlots[count++] = idSlots[i++];
+            } else {
+                mergedIdSlots[count++] = addedIdSlots[j++];
+            }
+        }
+        mergedIdSlots = Arrays.copyOf(mergedIdSlots, count);
+
+        TitleIndex next = new TitleIndex(capacity, slots, live, newIds, newTitles, newScores, newStarts, newPool,
+            mergedKeys, mergedIdSlots);
+        return live > capacity || slots - live > Math.max(64, live / 4) ? next.compact() : next;
+    }
+
+    // Drops the titles of deleted rows; ids that are not indexed are ignored. Their slots stay
+    // DEAD until enough pile up for a compaction.
+    public TitleIndex minus(Collection<Integer> removedIds) {
+        int[] newIds = null;
+        String[] newTitles = null;
+        int live = liveCount;
+        for (int id : removedIds) {
+            int slot = slotOf(id);
+            if (slot == DEAD || (newIds != null && newIds[slot] == DEAD)) {
+                continue;
+            }
+            if (newIds == null) {
+                newIds = ids.clone();
+                newTitles = titles.clone();
+            }
+            newIds[slot] = DEAD;
+            newTitles[slot] = null;
+            live--;
+        }
+        if (newIds == null) {
+            return this;
+        }
+
+        long[] keptKeys = new long[keys.length];
+        int keyCount = 0;
+        for (long key : keys) {
+            if (newIds[slot(key)] != DEAD) {
+                keptKeys[keyCount++] = key;
+            }
+        }
+        long[] keptIdSlots = new long[idSlots.length];
+        int idCount = 0;
+        for (long idSlot : idSlots) {
+            if (newIds[(int) idSlot] != DEAD) {
+                keptIdSlots[idCount++] = idSlot;
+            }
+        }
+        // The pool, starts and scores are never written after construction, so they are shared
+        TitleIndex next = new TitleIndex(capacity, slotCount, live, newIds, newTitles, scores, starts, pool,
+            Arrays.copyOf(keptKeys, keyCount), Arrays.copyOf(keptIdSlots, idCount));
+        return slotCount - live > Math.max(64, live / 4) ? next.compact() : next;
+    }
+
+    // Usual case, nothing replaced: each new key finds its place by binary search and the old
+    // keys between two insertion points move as one block
+    private long[] insertKeys(List<Long> added, char[] newPool, int[] newStarts) {
+        long[] merged = new long[keys.length + added.size()];
+        int copied = 0;
+        int count = 0;
+        for (long key : added) {
+            int low = copied;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compareKeys(keys[mid], key, newPool, newStarts) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            System.arraycopy(keys, copied, merged, count, low - copied);
+            count += low - copied;
+            copied = low;
+            merged[count++] = key;
+        }
+        System.arraycopy(keys, copied, merged, count, keys.length - copied);
+        return merged;
+    }
+
+    // Some titles were replaced, so every old key is checked against the dead slots anyway
+    private long[] mergeKeys(List<Long> added, int[] newIds, char[] newPool, int[] newStarts) {
+        long[] merged = new long[keys.length + added.size()];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < added.size()) {
+            if (i < keys.length && newIds[slot(keys[i])] == DEAD) {
+                i++;
+            } else if (j == added.size()
+                || (i < keys.length && compareKeys(keys[i], added.get(j), newPool, newStarts) <= 0)) {
+                merged[count++] = keys[i++];
+            } else {
+                merged[count++] = added.get(j++);
+            }
+        }
+        return Arrays.copyOf(merged, count);
+    }
+
+    // Evicts down to capacity, then renumbers live slots in order, which keeps the keys sorted
+    private TitleIndex compact() {
+        int[] liveIds = ids.clone();
+        int live = liveCount;
+        if (live > capacity) {
+            long[] byScore = new long[live];
+            int n = 0;
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (liveIds[slot] != DEAD) {
+                    // Non-negative float bits sort like the floats themselves
+                    byScore[n++] = ((long) Float.floatToIntBits(Math.max(0f, scores[slot])) << 32) | slot;
+                }
+            }
+            Arrays.sort(byScore);
+            for (int k = 0; k < live - capacity; k++) {
+                liveIds[(int) byScore[k]] = DEAD;
+            }
+            live = capacity;
+        }
+
+        int[] remap = new int[slotCount];
+        int[] newIds = new int[live];
+        String[] newTitles = new String[live];
+        float[] newScores = new float[live];
+        int[] newStarts = new int[live + 1];
+        int poolSize = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (liveIds[slot] != DEAD) {
+                poolSize += starts[slot + 1] - starts[slot];
+            }
+        }
+        char[] newPool = new char[poolSize];
+        int next = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (liveIds[slot] == DEAD) {
+                remap[slot] = DEAD;
+                continue;
+            }
+            remap[slot] = next;
+            newIds[next] = liveIds[slot];
+            newTitles[next] = titles[slot];
+            newScores[next] = scores[slot];
+            int length = starts[slot + 1] - starts[slot];
+            System.arraycopy(pool, starts[slot], newPool, newStarts[next], length);
+            newStarts[next + 1] = newStarts[next] + length;
+            next++;
+        }
+
+        long[] newKeys = new long[keys.length];
+        int count = 0;
+        for (long key : keys) {
+            int slot = remap[slot(key)];
+            if (slot != DEAD) {
+                newKeys[count++] = key(slot, offset(key));
+            }
+        }
+        long[] newIdSlots = new long[idSlots.length];
+        int idCount = 0;
+        for (long idSlot : idSlots) {
+            int slot = remap[(int) idSlot];
+            if (slot != DEAD) {
+                newIdSlots[idCount++] = (idSlot & 0xFFFFFFFF00000000L) | slot;
+            }
+        }
+        return new TitleIndex(capacity, live, live, newIds, newTitles, newScores, newStarts, newPool,
+            Arrays.copyOf(newKeys, count), Arrays.copyOf(newIdSlots, idCount));
+    }
+
+    // Best-ranked titles with a word starting with the prefix; title-start matches come first,
+    // then higher ratings
+    public List<TitleSuggestion> lookup(String prefix, int limit) {
+        String folded = fold(prefix);
+        if (folded.isEmpty() || limit <= 0 || keys.length == 0) {
+            return Collections.emptyList();
+        }
+        int[] bestSlots = new int[limit];
+        float[] bestRanks = new float[limit];
+        int found = 0;
+        int end = endOfPrefix(folded);
+        for (int i = lowerBound(folded); i < end; i++) {
+            long key = keys[i];
+            int slot = slot(key);
+            float rank = scores[slot] + (offset(key) == 0 ? TITLE_START_BONUS : 0f);
+            // A title can match on two words; it keeps its better rank
+            int seen = indexOf(bestSlots, found, slot);
+            if (seen >= 0) {
+                if (rank <= bestRanks[seen]) {
+                    continue;
+                }
+                System.arraycopy(bestSlots, seen + 1, bestSlots, seen, found - seen - 1);
+                System.arraycopy(bestRanks, seen + 1, bestRanks, seen, found - seen - 1);
+                found--;
+            }
+            if (found == limit && rank <= bestRanks[limit - 1]) {
+                continue;
+            }
+            int at = Math.min(found, limit - 1);
+            while (at > 0 && bestRanks[at - 1] < rank) {
+                bestSlots[at] = bestSlots[at - 1];
+                bestRanks[at] = bestRanks[at - 1];
+                at--;
+            }
+            bestSlots[at] = slot;
+            bestRanks[at] = rank;
+            found = Math.min(found + 1, limit);
+        }
+
+        List<TitleSuggestion> suggestions = new ArrayList<>(found);
+        for (int k = 0; k < found; k++) {
+            suggestions.add(new TitleSuggestion(ids[bestSlots[k]], titles[bestSlots[k]]));
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        return liveCount;
+    }
+
+    public int getKeyCount() {
+        return keys.length;
+    }
+
+    // Arrays at their real sizes plus the display strings at two bytes a char and a header;
+    // object alignment is ignored
+    public long getEstimatedBytes() {
+        long bytes = 8L * keys.length + 8L * idSlots.length + 2L * pool.length
+            + 4L * (ids.length + scores.length + starts.length + titles.length);
+        for (String title : titles) {
+            if (title != null) {
+                bytes += 24 + 2L * title.length();
+            }
+        }
+        return bytes;
+    }
+
+    private int slotOf(int id) {
+        int low = 0;
+        int high = idSlots.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = (int) (idSlots[mid] >>> 32);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return (int) idSlots[mid];
+            }
+        }
+        return DEAD;
+    }
+
+    // First key whose text sorts at or after the prefix
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareToText(keys[mid], prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First key after the run of keys that start with the prefix
+    private int endOfPrefix(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long key = keys[mid];
+            if (compareToText(key, prefix) < 0 || regionStartsWith(slot(key), offset(key), prefix)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int compareToText(long key, String text) {
+        int from = starts[slot(key)] + offset(key);
+        int end = starts[slot(key) + 1];
+        int length = Math.min(end - from, text.length());
+        for (int k = 0; k < length; k++) {
+            char c = pool[from + k];
+            char t = text.charAt(k);
+            if (c != t) {
+                return c - t;
+            }
+        }
+        return (end - from) - text.length();
+    }
+
+    private boolean regionStartsWith(int slot, int offset, String prefix) {
+        int from = starts[slot] + offset;
+        if (starts[slot + 1] - from < prefix.length()) {
+            return false;
+        }
+        for (int k = 0; k < prefix.length(); k++) {
+            if (pool[from + k] != prefix.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean regionEquals(int slot, String text) {
+        return starts[slot + 1] - starts[slot] == text.length() && regionStartsWith(slot, 0, text);
+    }
+
+    private static int compareKeys(long a, long b, char[] pool, int[] starts) {
+        int aFrom = starts[slot(a)] + offset(a);
+        int aEnd = starts[slot(a) + 1];
+        int bFrom = starts[slot(b)] + offset(b);
+        int bEnd = starts[slot(b) + 1];
+        int length = Math.min(aEnd - aFrom, bEnd - bFrom);
+        for (int k = 0; k < length; k++) {
+            char ca = pool[aFrom + k];
+            char cb = pool[bFrom + k];
+            if (ca != cb) {
+                return ca - cb;
+            }
+        }
+        int byLength = (aEnd - aFrom) - (bEnd - bFrom);
+        return byLength != 0 ? byLength : Long.compare(a, b);
+    }
+
+    private static int indexOf(int[] slots, int count, int slot) {
+        for (int k = 0; k < count; k++) {
+            if (slots[k] == slot) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    private static long key(int slot, int offset) {
+        return ((long) slot << 32) | offset;
+    }
+
+    private static int slot(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int offset(long key) {
+        return (int) key;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.db.data.search;
+
+// One autocomplete entry: a cached movie whose title matched the typed prefix
+public final class TitleSuggestion {
+    private final int movieId;
+    private final String title;
+
+    public TitleSuggestion(int movieId, String title) {
+        this.movieId = movieId;
+        this.title = title;
+    }
+
+    public int getMovieId() {
+        return movieId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+}
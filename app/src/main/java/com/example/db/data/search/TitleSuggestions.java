@@ -0,0 +1,80 @@
+package com.example.db.data.search;
+
+import android.os.SystemClock;
+import android.util.Log;
+import com.example.db.data.local.MovieDao;
+import com.example.db.data.local.MovieEntity;
+import com.example.db.data.local.MovieWriter;
+import com.example.db.data.local.TitleRow;
+import com.example.db.util.AppLog;
+import com.example.db.util.AppSchedulers;
+import io.reactivex.rxjava3.core.Scheduler;
+import java.util.ArrayList;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+// Keeps a TitleIndex of every cached title. It is loaded once from the movies table and then
+// updated from each batch MovieWriter commits or reports deleted, all on one serial background
+// worker; lookups read the latest version and are cheap enough to run on every keystroke.
+@Singleton
+public class TitleSuggestions {
+    private static final String TAG = "TitleSuggestions";
+    // About 7 MB of index at typical title lengths; beyond it the lowest-rated titles are dropped
+    static final int MAX_TITLES = 50_000;
+
+    private final MovieDao movieDao;
+    private final Scheduler.Worker worker;
+    private volatile TitleIndex index = TitleIndex.empty(MAX_TITLES);
+
+    @Inject
+    public TitleSuggestions(MovieDao movieDao, MovieWriter movieWriter, AppSchedulers schedulers) {
+        this.movieDao = movieDao;
+        worker = schedulers.io().createWorker();
+        // Listening starts before the load is queued, so no write falls between the two; a row
+        // seen by both is applied twice, which is harmless
+        movieWriter.addListener(new MovieWriter.Listener() {
+            @Override
+            public void onMoviesWritten(List<MovieEntity> movies) {
+                List<TitleRow> rows = toRows(movies);
+                worker.schedule(() -> index = index.plus(rows));
+            }
+
+            @Override
+            public void onMoviesRemoved(List<Integer> movieIds) {
+                List<Integer> ids = new ArrayList<>(movieIds);
+                worker.schedule(() -> index = index.minus(ids));
+            }
+        });
+        worker.schedule(this::load);
+    }
+
+    private void load() {
+        long start = SystemClock.elapsedRealtime();
+        index = index.plus(movieDao.getTitleRows());
+        if (AppLog.isLoggable(Log.DEBUG)) {
+            Log.d(TAG, "Indexed " + index.size() + " titles (" + index.getKeyCount() + " keys, ~"
+                + index.getEstimatedBytes() / 1024 + " KB) in " + (SystemClock.elapsedRealtime() - start) + " ms");
+        }
+    }
+
+    public List<TitleSuggestion> suggest(String prefix, int limit) {
+        return index.lookup(prefix, limit);
+    }
+
+    public int getIndexedTitles() {
+        return index.size();
+    }
+
+    public long getEstimatedBytes() {
+        return index.getEstimatedBytes();
+    }
+
+    private static List<TitleRow> toRows(List<MovieEntity> movies) {
+        List<TitleRow> rows = new ArrayList<>(movies.size());
+        for (MovieEntity movie : movies) {
+            rows.add(new TitleRow(movie.getId(), movie.getTitle(), movie.getVoteAverage()));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.db.data.sync;
+
+import android.util.Log;
+import com.example.db.data.local.Feed;
+import com.example.db.data.local.MovieDao;
+import com.example.db.data.local.StorageManager;
+import com.example.db.data.paging.FeedSource;
+import com.example.db.data.paging.FeedSync;
+import com.example.db.data.repository.MovieRepository;
+import com.example.db.util.AppLog;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+// One pass of the periodic sync: refresh the Home feeds, revalidate bookmarks and warm the
+// posters of each feed's first page, so a cold open finds everything fresh and on disk. Ends
+// with storage maintenance, once the refresh has written everything it is going to write.
+@Singleton
+public class BackgroundSync {
+    private static final String TAG = "BackgroundSync";
+    private static final int WARM_POSTERS_PER_FEED = FeedSync.TMDB_PAGE_SIZE;
+
+    private final FeedSource feedSource;
+    private final MovieRepository repository;
+    private final MovieDao movieDao;
+    private final ImageWarmer imageWarmer;
+    private final StorageManager storageManager;
+    private final SyncStatus syncStatus;
+
+    @Inject
+    public BackgroundSync(
+        FeedSource feedSource,
+        MovieRepository repository,
+        MovieDao movieDao,
+        ImageWarmer imageWarmer,
+        StorageManager storageManager,
+        SyncStatus syncStatus
+    ) {
+        this.feedSource = feedSource;
+        this.repository = repository;
+        this.movieDao = movieDao;
+        this.imageWarmer = imageWarmer;
+        this.storageManager = storageManager;
+        this.syncStatus = syncStatus;
+    }
+
+    public Completable run() {
+        return Flowable.fromArray(Feed.values())
+            .concatMapCompletable(feedSource::refresh)
+            .andThen(repository.revalidateBookmarks())
+            .andThen(Flowable.fromArray(Feed.values())
+                .concatMapCompletable(feed -> Single
+                    .fromCallable(() -> movieDao.getFeedPosterPaths(feed.name(), WARM_POSTERS_PER_FEED))
+                    .flatMapCompletable(imageWarmer::warmPosters)))
+            .andThen(storageManager.maintain().ignoreElement())
+            .doOnComplete(() -> {
+                syncStatus.markSynced(System.currentTimeMillis());
+                AppLog.d(TAG, "Background sync finished");
+            })
+            // WARN so release builds still record why a sync is being retried
+            .doOnError(error -> {
+                if (AppLog.isLoggable(Log.WARN)) {
+                    Log.w(TAG, "Background sync failed", error);
+                }
+            });
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.db.data.sync;
+
+import io.reactivex.rxjava3.core.Completable;
+import java.util.List;
+
+// Fetches poster artwork into the image cache ahead of the first scroll
+public interface ImageWarmer {
+    Completable warmPosters(List<String> posterPaths);
+}
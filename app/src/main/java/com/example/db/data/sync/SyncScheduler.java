@@ -0,0 +1,43 @@
+package com.example.db.data.sync;
+
+import android.content.Context;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import dagger.hilt.android.qualifiers.ApplicationContext;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+// Schedules the periodic sync for when it costs the user nothing: unmetered network, charging
+@Singleton
+public class SyncScheduler {
+    public static final String UNIQUE_WORK = "background-sync";
+    static final long PERIOD_HOURS = 6;
+    static final long BACKOFF_SECONDS = 30;
+
+    private final Context context;
+
+    // WorkManager is looked up on schedule(), not here: MovieApplication builds its configuration
+    // from an injected field, which is not yet set while this is being injected
+    @Inject
+    public SyncScheduler(@ApplicationContext Context context) {
+        this.context = context;
+    }
+
+    // KEEP leaves an already scheduled sync alone, so calling this on every launch is free
+    public void schedule() {
+        Constraints constraints = new Constraints.Builder()
+            .setRequiredNetworkType(NetworkType.UNMETERED)
+            .setRequiresCharging(true)
+            .build();
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(SyncWorker.class, PERIOD_HOURS, TimeUnit.HOURS)
+            .setConstraints(constraints)
+            .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_SECONDS, TimeUnit.SECONDS)
+            .build();
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(UNIQUE_WORK, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+}
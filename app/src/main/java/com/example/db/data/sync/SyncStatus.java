@@ -0,0 +1,45 @@
+package com.example.db.data.sync;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import dagger.hilt.android.qualifiers.ApplicationContext;
+import io.reactivex.rxjava3.core.Observable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+// When the last background sync finished, kept across process death for the Home screen
+@Singleton
+public class SyncStatus {
+    public static final long NEVER = 0;
+    private static final String PREFS = "background_sync";
+    private static final String KEY_LAST_SYNC = "last_sync_at";
+
+    private final SharedPreferences prefs;
+
+    @Inject
+    public SyncStatus(@ApplicationContext Context context) {
+        this.prefs = context.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+    }
+
+    public long getLastSyncMillis() {
+        return prefs.getLong(KEY_LAST_SYNC, NEVER);
+    }
+
+    void markSynced(long timeMillis) {
+        prefs.edit().putLong(KEY_LAST_SYNC, timeMillis).apply();
+    }
+
+    // Current value first, then every later sync
+    public Observable<Long> observeLastSync() {
+        return Observable.create(emitter -> {
+            SharedPreferences.OnSharedPreferenceChangeListener listener = (changed, key) -> {
+                if (KEY_LAST_SYNC.equals(key)) {
+                    emitter.onNext(getLastSyncMillis());
+                }
+            };
+            prefs.registerOnSharedPreferenceChangeListener(listener);
+            emitter.setCancellable(() -> prefs.unregisterOnSharedPreferenceChangeListener(listener));
+            emitter.onNext(getLastSyncMillis());
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.db.data.sync;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.hilt.work.HiltWorker;
+import androidx.work.RxWorker;
+import androidx.work.WorkerParameters;
+import dagger.assisted.Assisted;
+import dagger.assisted.AssistedInject;
+import io.reactivex.rxjava3.core.Single;
+
+// Runs BackgroundSync under WorkManager; failures retry with the request's backoff until the
+// attempt budget is spent, after which the next period tries again from scratch
+@HiltWorker
+public class SyncWorker extends RxWorker {
+    static final int MAX_ATTEMPTS = 3;
+
+    private final BackgroundSync backgroundSync;
+
+    @AssistedInject
+    public SyncWorker(
+        @Assisted @NonNull Context context,
+        @Assisted @NonNull WorkerParameters params,
+        BackgroundSync backgroundSync
+    ) {
+        super(context, params);
+        this.backgroundSync = backgroundSync;
+    }
+
+    @NonNull
+    @Override
+    public Single<Result> createWork() {
+        return backgroundSync.run()
+            .toSingleDefault(Result.success())
+            .onErrorReturn(error -> getRunAttemptCount() + 1 < MAX_ATTEMPTS ? Result.retry() : Result.failure());
+    }
+}
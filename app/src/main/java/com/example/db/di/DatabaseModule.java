@@ -2,13 +2,24 @@ package com.example.db.di;
 
 import android.content.Context;
 import androidx.room.Room;
+import com.example.db.data.cache.CacheEndpoint;
+import com.example.db.data.cache.CachePolicies;
+import com.example.db.data.cache.CachePolicy;
+import com.example.db.data.local.BookmarkDao;
+import com.example.db.data.local.DatabaseMigrations;
 import com.example.db.data.local.MovieDatabase;
 import com.example.db.data.local.MovieDao;
+import com.example.db.data.local.StorageQuota;
+import com.example.db.data.paging.FeedSource;
+import com.example.db.data.paging.FeedSync;
+import com.example.db.data.repository.MovieRepository;
+import com.example.db.data.search.SearchSource;
 import dagger.Module;
 import dagger.Provides;
 import dagger.hilt.InstallIn;
 import dagger.hilt.android.qualifiers.ApplicationContext;
 import dagger.hilt.components.SingletonComponent;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Singleton;
 
 @Module
@@ -22,7 +33,9 @@ public class DatabaseModule {
             context,
             MovieDatabase.class,
             "movie_database"
-        ).fallbackToDestructiveMigration()
+        ).addMigrations(DatabaseMigrations.ALL)
+        // Only a downgrade, which no migration covers, starts over with an empty database
+        .fallbackToDestructiveMigrationOnDowngrade()
         .build();
     }
 
@@ -31,4 +44,40 @@ public class DatabaseModule {
     MovieDao provideMovieDao(MovieDatabase database) {
         return database.movieDao();
     }
-} 
\ No newline at end of file
+
+    @Provides
+    @Singleton
+    BookmarkDao provideBookmarkDao(MovieDatabase database) {
+        return database.bookmarkDao();
+    }
+
+    // Room for a few hundred searches' worth of movies beyond the feeds and bookmarks
+    @Provides
+    @Singleton
+    StorageQuota provideStorageQuota() {
+        return new StorageQuota(5_000, 16L * 1024 * 1024);
+    }
+
+    @Provides
+    @Singleton
+    CachePolicies provideCachePolicies() {
+        return new CachePolicies.Builder()
+            .put(CacheEndpoint.TRENDING, CachePolicy.of(1, 24, TimeUnit.HOURS))
+            .put(CacheEndpoint.NOW_PLAYING, CachePolicy.of(6, 72, TimeUnit.HOURS))
+            .put(CacheEndpoint.SEARCH, CachePolicy.of(15, 24 * 60, TimeUnit.MINUTES))
+            .put(CacheEndpoint.DETAILS, CachePolicy.of(24, 24 * 7, TimeUnit.HOURS))
+            .build();
+    }
+
+    @Provides
+    @Singleton
+    FeedSource provideFeedSource(FeedSync feedSync) {
+        return feedSync;
+    }
+
+    @Provides
+    @Singleton
+    SearchSource provideSearchSource(MovieRepository repository) {
+        return repository;
+    }
+}
\ No newline at end of file
@@ -1,12 +1,31 @@
 package com.example.db.di;
 
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.NetworkCapabilities;
 import android.util.Log;
+import com.example.db.BuildConfig;
+import com.example.db.data.api.CacheControlInterceptor;
+import com.example.db.data.api.CoalescingMovieApiService;
+import com.example.db.data.api.HttpCacheMetrics;
 import com.example.db.data.api.MovieApiService;
+import com.example.db.data.api.NetworkStatus;
+import com.example.db.data.api.OfflineCacheInterceptor;
+import com.example.db.data.api.RequestCoalescer;
+import com.example.db.data.api.json.TmdbJson;
+import com.example.db.data.cache.CachePolicies;
+import com.example.db.data.images.PinnedImageStore;
+import com.example.db.data.images.TmdbImageSizes;
+import com.example.db.util.AppLog;
+import dagger.Lazy;
 import dagger.Module;
 import dagger.Provides;
 import dagger.hilt.InstallIn;
+import dagger.hilt.android.qualifiers.ApplicationContext;
 import dagger.hilt.components.SingletonComponent;
+import java.io.File;
 import javax.inject.Singleton;
+import okhttp3.Cache;
 import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
@@ -14,15 +33,17 @@ import okhttp3.Request;
 import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.adapter.rxjava3.RxJava3CallAdapterFactory;
-import retrofit2.converter.gson.GsonConverterFactory;
 import java.util.concurrent.TimeUnit;
 
 @Module
 @InstallIn(SingletonComponent.class)
 public class NetworkModule {
-    private static final String TAG = "NetworkModule";
     private static final String BASE_URL = "https://api.themoviedb.org/3/";
     private static final String API_KEY = "933f90d71eb2796fd6cb719ed51db997";
+    private static final long REQUEST_MEMO_WINDOW_MS = 2000;
+    private static final long HTTP_CACHE_SIZE_BYTES = 20 * 1024 * 1024;
+    private static final long OFFLINE_MAX_STALE_DAYS = 7;
+    private static final String PINNED_IMAGES_DIR = "pinned_images";
 
     @Provides
     @Singleton
@@ -32,10 +53,43 @@ public class NetworkModule {
 
     @Provides
     @Singleton
-    public OkHttpClient provideOkHttpClient(String apiKey) {
-        HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
-        loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
+    public Cache provideHttpCache(@ApplicationContext Context context) {
+        return new Cache(new File(context.getCacheDir(), "http"), HTTP_CACHE_SIZE_BYTES);
+    }
+
+    @Provides
+    @Singleton
+    public NetworkStatus provideNetworkStatus(@ApplicationContext Context context) {
+        ConnectivityManager connectivityManager =
+            (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        return () -> {
+            NetworkCapabilities capabilities =
+                connectivityManager.getNetworkCapabilities(connectivityManager.getActiveNetwork());
+            return capabilities != null && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET);
+        };
+    }
 
+    @Provides
+    @Singleton
+    public OfflineCacheInterceptor provideOfflineCacheInterceptor(NetworkStatus networkStatus) {
+        return new OfflineCacheInterceptor(networkStatus, OFFLINE_MAX_STALE_DAYS, TimeUnit.DAYS);
+    }
+
+    @Provides
+    @Singleton
+    public HttpCacheMetrics provideHttpCacheMetrics() {
+        return new HttpCacheMetrics();
+    }
+
+    @Provides
+    @Singleton
+    public OkHttpClient provideOkHttpClient(
+        String apiKey,
+        Cache cache,
+        CachePolicies cachePolicies,
+        OfflineCacheInterceptor offlineCacheInterceptor,
+        HttpCacheMetrics cacheMetrics
+    ) {
         // Create an interceptor to add API key to all requests
         Interceptor apiKeyInterceptor = chain -> {
             Request original = chain.request();
@@ -49,33 +103,72 @@ public class NetworkModule {
                 .url(url);
 
             Request request = requestBuilder.build();
-            Log.d(TAG, "Adding API key to request: " + request.url());
             return chain.proceed(request);
         };
 
-        return new OkHttpClient.Builder()
-            .addInterceptor(loggingInterceptor)
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+            .cache(cache)
+            .addInterceptor(cacheMetrics);
+        if (BuildConfig.DEBUG) {
+            // Release builds never install the logger, so responses are not buffered or copied
+            HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
+            builder.addInterceptor(chain -> {
+                loggingInterceptor.setLevel(httpLoggingLevel());
+                return loggingInterceptor.intercept(chain);
+            });
+        }
+        return builder
             .addInterceptor(apiKeyInterceptor)
+            .addInterceptor(offlineCacheInterceptor)
+            .addNetworkInterceptor(new CacheControlInterceptor(cachePolicies))
             .connectTimeout(30, TimeUnit.SECONDS)
             .readTimeout(30, TimeUnit.SECONDS)
             .writeTimeout(30, TimeUnit.SECONDS)
             .build();
     }
 
+    // Follows the runtime AppLog level: VERBOSE logs bodies, DEBUG logs request lines only
+    private static HttpLoggingInterceptor.Level httpLoggingLevel() {
+        if (AppLog.isLoggable(Log.VERBOSE)) {
+            return HttpLoggingInterceptor.Level.BODY;
+        }
+        return AppLog.isLoggable(Log.DEBUG) ? HttpLoggingInterceptor.Level.BASIC : HttpLoggingInterceptor.Level.NONE;
+    }
+
+    // Own client: image.tmdb.org needs no API key, and pinned files must not also fill the HTTP cache
+    @Provides
+    @Singleton
+    public PinnedImageStore providePinnedImageStore(@ApplicationContext Context context) {
+        OkHttpClient imageClient = new OkHttpClient.Builder()
+            .connectTimeout(30, TimeUnit.SECONDS)
+            .readTimeout(30, TimeUnit.SECONDS)
+            .build();
+        return new PinnedImageStore(new File(context.getFilesDir(), PINNED_IMAGES_DIR), imageClient,
+            TmdbImageSizes.BASE_URL);
+    }
+
     @Provides
     @Singleton
-    public Retrofit provideRetrofit(OkHttpClient okHttpClient) {
+    public Retrofit provideRetrofit(Lazy<OkHttpClient> okHttpClient) {
+        // The client, its cache and interceptors are built on the first call, on the calling io
+        // thread, rather than wherever Retrofit happens to be injected
         return new Retrofit.Builder()
             .baseUrl(BASE_URL)
-            .client(okHttpClient)
-            .addConverterFactory(GsonConverterFactory.create())
+            .callFactory(request -> okHttpClient.get().newCall(request))
+            .addConverterFactory(TmdbJson.converterFactory())
             .addCallAdapterFactory(RxJava3CallAdapterFactory.create())
             .build();
     }
 
     @Provides
     @Singleton
-    public MovieApiService provideMovieApiService(Retrofit retrofit) {
-        return retrofit.create(MovieApiService.class);
+    public RequestCoalescer provideRequestCoalescer() {
+        return new RequestCoalescer(REQUEST_MEMO_WINDOW_MS);
+    }
+
+    @Provides
+    @Singleton
+    public MovieApiService provideMovieApiService(Retrofit retrofit, RequestCoalescer coalescer) {
+        return new CoalescingMovieApiService(retrofit.create(MovieApiService.class), coalescer);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.example.db.di;
+
+import com.example.db.util.AppSchedulers;
+import com.example.db.util.DefaultAppSchedulers;
+import dagger.Module;
+import dagger.Provides;
+import dagger.hilt.InstallIn;
+import dagger.hilt.components.SingletonComponent;
+import javax.inject.Singleton;
+
+@Module
+@InstallIn(SingletonComponent.class)
+public class SchedulerModule {
+
+    @Provides
+    @Singleton
+    AppSchedulers provideSchedulers(DefaultAppSchedulers schedulers) {
+        return schedulers;
+    }
+}
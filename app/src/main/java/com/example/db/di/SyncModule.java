@@ -0,0 +1,22 @@
+package com.example.db.di;
+
+import android.content.Context;
+import com.example.db.data.sync.ImageWarmer;
+import com.example.db.ui.image.GlideImageWarmer;
+import dagger.Module;
+import dagger.Provides;
+import dagger.hilt.InstallIn;
+import dagger.hilt.android.qualifiers.ApplicationContext;
+import dagger.hilt.components.SingletonComponent;
+import javax.inject.Singleton;
+
+@Module
+@InstallIn(SingletonComponent.class)
+public class SyncModule {
+
+    @Provides
+    @Singleton
+    ImageWarmer provideImageWarmer(@ApplicationContext Context context) {
+        return new GlideImageWarmer(context);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.db.startup;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+import com.bumptech.glide.Glide;
+import com.example.db.data.api.MovieApiService;
+import com.example.db.data.local.BookmarkIndex;
+import com.example.db.data.local.MovieDatabase;
+import com.example.db.data.local.StorageManager;
+import com.example.db.data.sync.SyncScheduler;
+import com.example.db.util.AppLog;
+import com.example.db.util.AppSchedulers;
+import dagger.Lazy;
+import dagger.hilt.android.qualifiers.ApplicationContext;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.functions.Action;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import okhttp3.OkHttpClient;
+
+// Builds the heavy singletons on io threads while MainActivity inflates and lays out its first
+// frame. Everything is held lazily, so injecting this costs nothing on the main thread; if the
+// UI reaches a singleton first, it simply waits on Dagger's lock for the warm-up to finish it.
+// Each step is a Trace section ("Startup.*") for systrace and Perfetto.
+@Singleton
+public class StartupInitializer {
+    private static final String TAG = "Startup";
+
+    private final Context context;
+    private final Lazy<MovieDatabase> database;
+    private final Lazy<BookmarkIndex> bookmarkIndex;
+    private final Lazy<OkHttpClient> okHttpClient;
+    private final Lazy<MovieApiService> movieApiService;
+    private final Lazy<SyncScheduler> syncScheduler;
+    private final Lazy<StorageManager> storageManager;
+    private final AppSchedulers schedulers;
+
+    @Inject
+    public StartupInitializer(
+        @ApplicationContext Context context,
+        Lazy<MovieDatabase> database,
+        Lazy<BookmarkIndex> bookmarkIndex,
+        Lazy<OkHttpClient> okHttpClient,
+        Lazy<MovieApiService> movieApiService,
+        Lazy<SyncScheduler> syncScheduler,
+        Lazy<StorageManager> storageManager,
+        AppSchedulers schedulers
+    ) {
+        this.context = context;
+        this.database = database;
+        this.bookmarkIndex = bookmarkIndex;
+        this.okHttpClient = okHttpClient;
+        this.movieApiService = movieApiService;
+        this.syncScheduler = syncScheduler;
+        this.storageManager = storageManager;
+        this.schedulers = schedulers;
+    }
+
+    public Completable warmUp() {
+        return Completable.mergeArrayDelayError(
+            // Opening runs schema creation or migration, the slowest part of Room's first query
+            traced("Startup.room", () -> database.get().getOpenHelper().getWritableDatabase())
+                // Cells keep their bookmark buttons hidden until this lands, then rebind from the index
+                .andThen(Completable.defer(() -> bookmarkIndex.get().load()).onErrorComplete())
+                // Trims whatever the last session cached past the quota; not part of the trace,
+                // since it runs in batches behind whatever the UI writes first
+                .andThen(Completable.defer(() -> storageManager.get().enforceQuota().ignoreElement())
+                    .onErrorComplete()),
+            traced("Startup.okhttp", okHttpClient::get),
+            // Retrofit plus the Gson adapters it converts with
+            traced("Startup.retrofit", movieApiService::get),
+            traced("Startup.glide", () -> Glide.get(context)),
+            // WorkManager opens its own database on first use
+            traced("Startup.sync", () -> syncScheduler.get().schedule())
+        );
+    }
+
+    private Completable traced(String section, Action step) {
+        return Completable.fromAction(() -> {
+                long start = SystemClock.elapsedRealtimeNanos();
+                Trace.beginSection(section);
+                try {
+                    step.run();
+                } finally {
+                    Trace.endSection();
+                }
+                if (AppLog.isLoggable(Log.DEBUG)) {
+                    long elapsed = SystemClock.elapsedRealtimeNanos() - start;
+                    Log.d(TAG, section + " took " + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms");
+                }
+            })
+            .subscribeOn(schedulers.io());
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.db.ui.adapter;
+
+import androidx.recyclerview.widget.RecyclerView;
+import com.example.db.data.local.BookmarkIndex;
+import com.example.db.data.model.Movie;
+import com.example.db.ui.image.PosterPreloader;
+import io.reactivex.rxjava3.disposables.Disposable;
+
+// Turns BookmarkIndex changes into bookmark-only rebinds of the cells showing that movie. A
+// toggle scans the loaded positions once and touches one cell; the first load touches them all.
+final class BookmarkRebinder {
+
+    private BookmarkRebinder() {
+    }
+
+    static <A extends RecyclerView.Adapter<?> & PosterPreloader.Source> Disposable attach(BookmarkIndex bookmarks,
+                                                                                         A adapter) {
+        return bookmarks.changes().subscribe(change -> {
+            int count = adapter.getItemCount();
+            if (change.isReload()) {
+                adapter.notifyItemRangeChanged(0, count, MovieDiffCallback.CHANGE_BOOKMARK);
+                return;
+            }
+            for (int position = 0; position < count; position++) {
+                Movie movie = adapter.peekMovie(position);
+                if (movie != null && movie.getId() == change.getMovieId()) {
+                    adapter.notifyItemChanged(position, MovieDiffCallback.CHANGE_BOOKMARK);
+                }
+            }
+        });
+    }
+}
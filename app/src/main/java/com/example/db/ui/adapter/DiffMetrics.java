@@ -0,0 +1,70 @@
+package com.example.db.ui.adapter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Diff cost for one screen: diffs run, lists skipped as unchanged, and queued diffs dropped
+// because a newer list replaced them before they started
+public class DiffMetrics {
+    private final String screen;
+    private final AtomicLong diffs = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    DiffMetrics(String screen) {
+        this.screen = screen;
+    }
+
+    void recordDiff(long nanos) {
+        diffs.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        long max;
+        do {
+            max = maxNanos.get();
+        } while (nanos > max && !maxNanos.compareAndSet(max, nanos));
+    }
+
+    void recordSkipped() {
+        skipped.incrementAndGet();
+    }
+
+    void recordDropped() {
+        dropped.incrementAndGet();
+    }
+
+    public String getScreen() {
+        return screen;
+    }
+
+    public long getDiffs() {
+        return diffs.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public long getAverageNanos() {
+        long count = diffs.get();
+        return count == 0 ? 0 : totalNanos.get() / count;
+    }
+
+    @Override
+    public String toString() {
+        return screen + ": " + diffs.get() + " diffs, avg " + getAverageNanos() / 1000 + " us, max "
+            + maxNanos.get() / 1000 + " us, " + skipped.get() + " skipped, " + dropped.get() + " dropped";
+    }
+}
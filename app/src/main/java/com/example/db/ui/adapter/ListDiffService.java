@@ -0,0 +1,124 @@
+package com.example.db.ui.adapter;
+
+import android.util.Log;
+import com.example.db.data.model.Movie;
+import com.example.db.util.AppLog;
+import com.example.db.util.AppSchedulers;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+// Runs list diffs for every movie list on the shared computation pool. Each screen gets a lane
+// that keeps at most one diff queued: a newer list replaces a diff that has not started yet,
+// since AsyncListDiffer would throw its result away anyway.
+@Singleton
+public class ListDiffService {
+    private static final String TAG = "ListDiffService";
+
+    private final Executor pool;
+    private final Map<String, DiffMetrics> metrics = new LinkedHashMap<>();
+
+    @Inject
+    public ListDiffService(AppSchedulers schedulers) {
+        this.pool = schedulers.computation()::scheduleDirect;
+    }
+
+    public Lane lane(String screen) {
+        return new Lane(metricsFor(screen));
+    }
+
+    // Shared pool for adapters that manage their own diffs, such as PagingDataAdapter
+    public Executor getExecutor() {
+        return pool;
+    }
+
+    public synchronized DiffMetrics metricsFor(String screen) {
+        DiffMetrics screenMetrics = metrics.get(screen);
+        if (screenMetrics == null) {
+            screenMetrics = new DiffMetrics(screen);
+            metrics.put(screen, screenMetrics);
+        }
+        return screenMetrics;
+    }
+
+    public synchronized Map<String, DiffMetrics> getMetrics() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(metrics));
+    }
+
+    public class Lane implements Executor {
+        private final DiffMetrics metrics;
+        private Runnable pending;
+        private boolean draining;
+
+        Lane(DiffMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        public DiffMetrics getMetrics() {
+            return metrics;
+        }
+
+        @Override
+        public void execute(Runnable diff) {
+            synchronized (this) {
+                if (pending != null) {
+                    metrics.recordDropped();
+                }
+                pending = diff;
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            pool.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                Runnable diff;
+                synchronized (this) {
+                    diff = pending;
+                    pending = null;
+                    if (diff == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                long start = System.nanoTime();
+                try {
+                    diff.run();
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    metrics.recordDiff(elapsed);
+                    if (AppLog.isLoggable(Log.DEBUG)) {
+                        Log.d(TAG, metrics.getScreen() + " diff took " + elapsed / 1000 + " us");
+                    }
+                }
+            }
+        }
+    }
+
+    // True when the new list would diff to no changes: same ids in the same order, same content
+    // stamps and bookmark states. Costs one pass of long compares on the calling thread.
+    static boolean isUnchanged(List<Movie> current,
+                               List<Movie> next) {
+        if (current == next) {
+            return true;
+        }
+        if (current == null || next == null || current.size() != next.size()) {
+            return false;
+        }
+        for (int i = 0; i < current.size(); i++) {
+            Movie a = current.get(i);
+            Movie b = next.get(i);
+            if (a != b && (a.getId() != b.getId() || !a.hasSameContent(b) || a.isBookmarked() != b.isBookmarked())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -3,20 +3,54 @@ package com.example.db.ui.adapter;
 import android.view.LayoutInflater;
 import android.view.ViewGroup;
 import androidx.annotation.NonNull;
-import androidx.recyclerview.widget.DiffUtil;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.AsyncDifferConfig;
 import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
-import com.bumptech.glide.Glide;
-import com.example.db.R;
+import com.example.db.data.local.BookmarkIndex;
 import com.example.db.data.model.Movie;
 import com.example.db.databinding.ItemMovieBinding;
+import com.example.db.ui.image.PosterPreloader;
+import io.reactivex.rxjava3.disposables.Disposable;
+import java.util.List;
 
-public class MovieAdapter extends ListAdapter<Movie, MovieAdapter.MovieViewHolder> {
+// Diffs run on the screen's lane of ListDiffService, so a newer list replaces a queued diff
+// instead of waiting behind it
+public class MovieAdapter extends ListAdapter<Movie, MovieViewHolder> implements PosterPreloader.Source {
     private final MovieClickListener listener;
+    private final BookmarkIndex bookmarks;
+    private final DiffMetrics metrics;
+    private Disposable bookmarkChanges;
+    // Latest list handed to the differ, which may still be diffing; getCurrentList() lags behind it
+    private List<Movie> submitted;
 
-    public MovieAdapter(MovieClickListener listener) {
-        super(new MovieDiffCallback());
+    public MovieAdapter(MovieClickListener listener, BookmarkIndex bookmarks, ListDiffService.Lane lane) {
+        super(new AsyncDifferConfig.Builder<>(new MovieDiffCallback())
+            .setBackgroundThreadExecutor(lane)
+            .build());
         this.listener = listener;
+        this.bookmarks = bookmarks;
+        this.metrics = lane.getMetrics();
+    }
+
+    @Override
+    public void submitList(@Nullable List<Movie> list) {
+        submitList(list, null);
+    }
+
+    // A list with the same movies in the same state would diff to nothing, so it never leaves
+    // the main thread
+    @Override
+    public void submitList(@Nullable List<Movie> list, @Nullable Runnable commitCallback) {
+        if (submitted != null && ListDiffService.isUnchanged(submitted, list)) {
+            metrics.recordSkipped();
+            if (commitCallback != null) {
+                commitCallback.run();
+            }
+            return;
+        }
+        submitted = list;
+        super.submitList(list, commitCallback);
     }
 
     @NonNull
@@ -25,7 +59,7 @@ public class MovieAdapter extends ListAdapter<Movie, MovieAdapter.MovieViewHolde
         ItemMovieBinding binding = ItemMovieBinding.inflate(
             LayoutInflater.from(parent.getContext()), parent, false
         );
-        return new MovieViewHolder(binding);
+        return new MovieViewHolder(binding, listener, bookmarks);
     }
 
     @Override
@@ -33,48 +67,38 @@ public class MovieAdapter extends ListAdapter<Movie, MovieAdapter.MovieViewHolde
         holder.bind(getItem(position));
     }
 
-    class MovieViewHolder extends RecyclerView.ViewHolder {
-        private final ItemMovieBinding binding;
-
-        MovieViewHolder(ItemMovieBinding binding) {
-            super(binding.getRoot());
-            this.binding = binding;
+    @Override
+    public void onBindViewHolder(@NonNull MovieViewHolder holder, int position, @NonNull List<Object> payloads) {
+        int changes = MovieViewHolder.changesOf(payloads);
+        if (changes == MovieViewHolder.FULL_BIND) {
+            onBindViewHolder(holder, position);
+        } else {
+            holder.bind(getItem(position), changes);
         }
+    }
 
-        void bind(Movie movie) {
-            binding.titleText.setText(movie.getTitle());
-            binding.overviewText.setText(movie.getOverview());
-            binding.ratingText.setText(
-                String.format("%.1f", movie.getVoteAverage())
-            );
-
-            Glide.with(itemView)
-                .load(movie.getFullPosterPath())
-                .placeholder(R.drawable.placeholder_poster)
-                .error(R.drawable.placeholder_poster)
-                .into(binding.posterImage);
+    // Bookmark changes only rebind while the list is on screen
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        bookmarkChanges = BookmarkRebinder.attach(bookmarks, this);
+    }
 
-            binding.bookmarkButton.setSelected(movie.isBookmarked());
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        bookmarkChanges.dispose();
+    }
 
-            itemView.setOnClickListener(v -> listener.onMovieClick(movie));
-            binding.bookmarkButton.setOnClickListener(v -> listener.onBookmarkClick(movie));
-        }
+    @Nullable
+    @Override
+    public Movie peekMovie(int position) {
+        List<Movie> current = getCurrentList();
+        return position >= 0 && position < current.size() ? current.get(position) : null;
     }
 
     public interface MovieClickListener {
         void onMovieClick(Movie movie);
         void onBookmarkClick(Movie movie);
     }
-
-    private static class MovieDiffCallback extends DiffUtil.ItemCallback<Movie> {
-        @Override
-        public boolean areItemsTheSame(@NonNull Movie oldItem, @NonNull Movie newItem) {
-            return oldItem.getId() == newItem.getId();
-        }
-
-        @Override
-        public boolean areContentsTheSame(@NonNull Movie oldItem, @NonNull Movie newItem) {
-            return oldItem.equals(newItem);
-        }
-    }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package com.example.db.ui.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import com.example.db.data.model.Movie;
+import java.util.Objects;
+
+// Content checks compare precomputed stamps, so diffing a long list never walks the strings
+class MovieDiffCallback extends DiffUtil.ItemCallback<Movie> {
+    // Change payload bits; a cell only rebinds the views they name and keeps its poster request
+    static final int CHANGE_BOOKMARK = 1;
+    static final int CHANGE_RATING = 1 << 1;
+
+    @Override
+    public boolean areItemsTheSame(@NonNull Movie oldItem, @NonNull Movie newItem) {
+        return oldItem.getId() == newItem.getId();
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull Movie oldItem, @NonNull Movie newItem) {
+        return oldItem == newItem
+            || (oldItem.hasSameContent(newItem) && oldItem.isBookmarked() == newItem.isBookmarked());
+    }
+
+    // Only called for changed items; returns null when a shown field other than the bookmark
+    // or rating changed, which asks for a full rebind
+    @Nullable
+    @Override
+    public Object getChangePayload(@NonNull Movie oldItem, @NonNull Movie newItem) {
+        int changes = oldItem.isBookmarked() != newItem.isBookmarked() ? CHANGE_BOOKMARK : 0;
+        if (oldItem.hasSameContent(newItem)) {
+            return changes;
+        }
+        if (!Objects.equals(oldItem.getTitle(), newItem.getTitle())
+            || !Objects.equals(oldItem.getOverview(), newItem.getOverview())
+            || !Objects.equals(oldItem.getPosterPath(), newItem.getPosterPath())) {
+            return null;
+        }
+        if (Double.compare(oldItem.getVoteAverage(), newItem.getVoteAverage()) != 0) {
+            changes |= CHANGE_RATING;
+        }
+        return changes;
+    }
+}
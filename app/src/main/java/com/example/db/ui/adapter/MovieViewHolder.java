@@ -0,0 +1,84 @@
+package com.example.db.ui.adapter;
+
+import android.view.View;
+import androidx.recyclerview.widget.RecyclerView;
+import com.bumptech.glide.Glide;
+import com.example.db.data.local.BookmarkIndex;
+import com.example.db.data.model.Movie;
+import com.example.db.databinding.ItemMovieBinding;
+import com.example.db.ui.image.PosterRequests;
+import java.util.List;
+
+// Shared by the list and paged adapters so both bind cells the same way. Click listeners are
+// attached once and read the movie currently bound, so binds allocate nothing for them.
+// Bookmark state comes from the BookmarkIndex rather than the row, since feed rows carry none;
+// the button stays hidden until the index has loaded and its RELOADED change rebinds the cell.
+class MovieViewHolder extends RecyclerView.ViewHolder {
+    // Returned by changesOf() when the payloads ask for a full bind
+    static final int FULL_BIND = -1;
+
+    private final ItemMovieBinding binding;
+    private final BookmarkIndex bookmarks;
+    private Movie movie;
+
+    MovieViewHolder(ItemMovieBinding binding, MovieAdapter.MovieClickListener listener, BookmarkIndex bookmarks) {
+        super(binding.getRoot());
+        this.binding = binding;
+        this.bookmarks = bookmarks;
+        itemView.setOnClickListener(v -> {
+            if (movie != null) {
+                listener.onMovieClick(movie);
+            }
+        });
+        binding.bookmarkButton.setOnClickListener(v -> {
+            if (movie != null) {
+                listener.onBookmarkClick(movie);
+            }
+        });
+    }
+
+    void bind(Movie movie) {
+        this.movie = movie;
+        binding.titleText.setText(movie.getTitle());
+        binding.overviewText.setText(movie.getOverview());
+        binding.ratingText.setText(RatingFormatter.format(movie.getVoteAverage()));
+
+        PosterRequests.thumbnail(Glide.with(itemView), movie.getPosterPath())
+            .into(binding.posterImage);
+
+        bindBookmark(movie);
+    }
+
+    // Partial bind for the MovieDiffCallback change bits; the poster request is left running
+    void bind(Movie movie, int changes) {
+        this.movie = movie;
+        if ((changes & MovieDiffCallback.CHANGE_BOOKMARK) != 0) {
+            bindBookmark(movie);
+        }
+        if ((changes & MovieDiffCallback.CHANGE_RATING) != 0) {
+            binding.ratingText.setText(RatingFormatter.format(movie.getVoteAverage()));
+        }
+    }
+
+    // Invisible rather than gone, so the cell keeps its layout when the index lands
+    private void bindBookmark(Movie movie) {
+        boolean known = bookmarks.isLoaded();
+        binding.bookmarkButton.setVisibility(known ? View.VISIBLE : View.INVISIBLE);
+        binding.bookmarkButton.setSelected(known && bookmarks.contains(movie.getId()));
+    }
+
+    // Merges the payloads queued since the last bind
+    static int changesOf(List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            return FULL_BIND;
+        }
+        int changes = 0;
+        for (Object payload : payloads) {
+            if (!(payload instanceof Integer)) {
+                return FULL_BIND;
+            }
+            changes |= (Integer) payload;
+        }
+        return changes;
+    }
+}
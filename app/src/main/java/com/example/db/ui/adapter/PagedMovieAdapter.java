@@ -0,0 +1,78 @@
+package com.example.db.ui.adapter;
+
+import android.view.LayoutInflater;
+import android.view.ViewGroup;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+import com.example.db.data.local.BookmarkIndex;
+import com.example.db.data.model.Movie;
+import com.example.db.databinding.ItemMovieBinding;
+import com.example.db.ui.image.PosterPreloader;
+import io.reactivex.rxjava3.disposables.Disposable;
+import java.util.List;
+import kotlinx.coroutines.Dispatchers;
+import kotlinx.coroutines.ExecutorsKt;
+
+// Paging-aware counterpart of MovieAdapter for the Room-backed feeds. Paging awaits every diff
+// it starts, so it gets the shared diff pool rather than a latest-wins lane.
+public class PagedMovieAdapter extends PagingDataAdapter<Movie, MovieViewHolder> implements PosterPreloader.Source {
+    private final MovieAdapter.MovieClickListener listener;
+    private final BookmarkIndex bookmarks;
+    private Disposable bookmarkChanges;
+
+    public PagedMovieAdapter(MovieAdapter.MovieClickListener listener, BookmarkIndex bookmarks,
+                             ListDiffService diffService) {
+        super(new MovieDiffCallback(), Dispatchers.getMain(), ExecutorsKt.from(diffService.getExecutor()));
+        this.listener = listener;
+        this.bookmarks = bookmarks;
+    }
+
+    @NonNull
+    @Override
+    public MovieViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        ItemMovieBinding binding = ItemMovieBinding.inflate(
+            LayoutInflater.from(parent.getContext()), parent, false
+        );
+        return new MovieViewHolder(binding, listener, bookmarks);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull MovieViewHolder holder, int position) {
+        Movie movie = getItem(position);
+        if (movie != null) {
+            holder.bind(movie);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull MovieViewHolder holder, int position, @NonNull List<Object> payloads) {
+        int changes = MovieViewHolder.changesOf(payloads);
+        Movie movie = getItem(position);
+        if (changes == MovieViewHolder.FULL_BIND || movie == null) {
+            onBindViewHolder(holder, position);
+        } else {
+            holder.bind(movie, changes);
+        }
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        bookmarkChanges = BookmarkRebinder.attach(bookmarks, this);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        bookmarkChanges.dispose();
+    }
+
+    // peek() reads the loaded snapshot without asking paging for more
+    @Nullable
+    @Override
+    public Movie peekMovie(int position) {
+        return position >= 0 && position < getItemCount() ? peek(position) : null;
+    }
+}
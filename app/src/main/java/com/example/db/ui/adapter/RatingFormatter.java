@@ -0,0 +1,26 @@
+package com.example.db.ui.adapter;
+
+import java.util.Locale;
+
+// TMDB ratings run from 0 to 10 with one decimal shown, so the 101 possible labels are built
+// once instead of running String.format on every bind
+final class RatingFormatter {
+    private static final String[] LABELS = new String[101];
+
+    static {
+        for (int i = 0; i < LABELS.length; i++) {
+            LABELS[i] = String.format(Locale.getDefault(), "%.1f", i / 10.0);
+        }
+    }
+
+    private RatingFormatter() {
+    }
+
+    static String format(double voteAverage) {
+        long index = Math.round(voteAverage * 10);
+        if (index < 0 || index >= LABELS.length) {
+            return String.format(Locale.getDefault(), "%.1f", voteAverage);
+        }
+        return LABELS[(int) index];
+    }
+}
@@ -12,13 +12,18 @@ import androidx.navigation.Navigation;
 import androidx.recyclerview.widget.GridLayoutManager;
 import com.example.db.R;
 import com.example.db.databinding.FragmentBookmarksBinding;
+import com.example.db.ui.adapter.ListDiffService;
 import com.example.db.ui.adapter.MovieAdapter;
+import com.example.db.data.local.BookmarkIndex;
 import com.example.db.data.model.Movie;
 import com.google.android.material.snackbar.Snackbar;
 import dagger.hilt.android.AndroidEntryPoint;
+import javax.inject.Inject;
 
 @AndroidEntryPoint
 public class BookmarksFragment extends Fragment implements MovieAdapter.MovieClickListener {
+    @Inject ListDiffService diffService;
+    @Inject BookmarkIndex bookmarks;
     private FragmentBookmarksBinding binding;
     private BookmarksViewModel viewModel;
     private MovieAdapter movieAdapter;
@@ -38,7 +43,7 @@ public class BookmarksFragment extends Fragment implements MovieAdapter.MovieCli
     }
 
     private void setupRecyclerView() {
-        movieAdapter = new MovieAdapter(this);
+        movieAdapter = new MovieAdapter(this, bookmarks, diffService.lane("bookmarks"));
         binding.bookmarksRecyclerView.setLayoutManager(
             new GridLayoutManager(requireContext(), 2)
         );
@@ -5,16 +5,16 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 import com.example.db.data.model.Movie;
 import com.example.db.data.repository.MovieRepository;
+import com.example.db.util.AppSchedulers;
 import dagger.hilt.android.lifecycle.HiltViewModel;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import javax.inject.Inject;
 
 @HiltViewModel
 public class BookmarksViewModel extends ViewModel {
     private final MovieRepository movieRepository;
+    private final AppSchedulers schedulers;
     private final CompositeDisposable disposables = new CompositeDisposable();
 
     private final MutableLiveData<List<Movie>> bookmarkedMovies = new MutableLiveData<>();
@@ -23,16 +23,17 @@ public class BookmarksViewModel extends ViewModel {
     private final MutableLiveData<Boolean> isEmpty = new MutableLiveData<>(true);
 
     @Inject
-    public BookmarksViewModel(MovieRepository movieRepository) {
+    public BookmarksViewModel(MovieRepository movieRepository, AppSchedulers schedulers) {
         this.movieRepository = movieRepository;
+        this.schedulers = schedulers;
         loadBookmarkedMovies();
     }
 
     private void loadBookmarkedMovies() {
         isLoading.setValue(true);
         disposables.add(movieRepository.getBookmarkedMovies()
-            .subscribeOn(Schedulers.io())
-            .observeOn(AndroidSchedulers.mainThread())
+            .subscribeOn(schedulers.io())
+            .observeOn(schedulers.main())
             .subscribe(
                 movies -> {
                     bookmarkedMovies.setValue(movies);
@@ -46,13 +47,13 @@ public class BookmarksViewModel extends ViewModel {
             ));
     }
 
+    // The list subscription from loadBookmarkedMovies() sees the delete and drops the row
     public void unbookmarkMovie(Movie movie) {
         disposables.add(movieRepository.unbookmarkMovie(movie)
-            .andThen(movieRepository.getBookmarkedMovies())
-            .subscribeOn(Schedulers.io())
-            .observeOn(AndroidSchedulers.mainThread())
+            .subscribeOn(schedulers.databaseWrite())
+            .observeOn(schedulers.main())
             .subscribe(
-                updatedMovies -> bookmarkedMovies.setValue(updatedMovies),
+                () -> {},
                 throwable -> error.setValue("Failed to unbookmark movie: " + throwable.getMessage())
             ));
     }
@@ -12,6 +12,7 @@ import androidx.navigation.Navigation;
 import com.bumptech.glide.Glide;
 import com.example.db.R;
 import com.example.db.databinding.FragmentMovieDetailsBinding;
+import com.example.db.data.images.TmdbImage;
 import com.example.db.data.model.Movie;
 import com.google.android.material.snackbar.Snackbar;
 import dagger.hilt.android.AndroidEntryPoint;
@@ -66,7 +67,7 @@ public class MovieDetailsFragment extends Fragment {
         binding.toolbar.setTitle(movie.getTitle());
         
         Glide.with(this)
-            .load(movie.getFullPosterPath())
+            .load(TmdbImage.poster(movie.getPosterPath()))
             .placeholder(R.drawable.placeholder_poster)
             .error(R.drawable.placeholder_poster)
             .into(binding.posterImage);
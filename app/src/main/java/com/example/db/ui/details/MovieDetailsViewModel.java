@@ -5,15 +5,15 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 import com.example.db.data.model.Movie;
 import com.example.db.data.repository.MovieRepository;
+import com.example.db.util.AppSchedulers;
 import dagger.hilt.android.lifecycle.HiltViewModel;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import javax.inject.Inject;
 
 @HiltViewModel
 public class MovieDetailsViewModel extends ViewModel {
     private final MovieRepository repository;
+    private final AppSchedulers schedulers;
     private final CompositeDisposable disposables = new CompositeDisposable();
     
     private final MutableLiveData<Movie> movie = new MutableLiveData<>();
@@ -21,15 +21,16 @@ public class MovieDetailsViewModel extends ViewModel {
     private final MutableLiveData<String> error = new MutableLiveData<>();
 
     @Inject
-    public MovieDetailsViewModel(MovieRepository repository) {
+    public MovieDetailsViewModel(MovieRepository repository, AppSchedulers schedulers) {
         this.repository = repository;
+        this.schedulers = schedulers;
     }
 
     public void loadMovieDetails(int movieId) {
         isLoading.setValue(true);
         disposables.add(repository.getMovieById(movieId)
-            .subscribeOn(Schedulers.io())
-            .observeOn(AndroidSchedulers.mainThread())
+            .subscribeOn(schedulers.io())
+            .observeOn(schedulers.main())
             .subscribe(
                 movieData -> {
                     movie.setValue(movieData);
@@ -44,26 +45,20 @@ public class MovieDetailsViewModel extends ViewModel {
 
     public void bookmarkMovie(Movie movieData) {
         disposables.add(repository.bookmarkMovie(movieData)
-            .subscribeOn(Schedulers.io())
-            .observeOn(AndroidSchedulers.mainThread())
+            .subscribeOn(schedulers.databaseWrite())
+            .observeOn(schedulers.main())
             .subscribe(
-                () -> {
-                    movieData.setBookmarked(true);
-                    movie.setValue(movieData);
-                },
+                () -> movie.setValue(movieData.withBookmarked(true)),
                 throwable -> error.setValue(throwable.getMessage())
             ));
     }
 
     public void unbookmarkMovie(Movie movieData) {
         disposables.add(repository.unbookmarkMovie(movieData)
-            .subscribeOn(Schedulers.io())
-            .observeOn(AndroidSchedulers.mainThread())
+            .subscribeOn(schedulers.databaseWrite())
+            .observeOn(schedulers.main())
             .subscribe(
-                () -> {
-                    movieData.setBookmarked(false);
-                    movie.setValue(movieData);
-                },
+                () -> movie.setValue(movieData.withBookmarked(false)),
                 throwable -> error.setValue(throwable.getMessage())
             ));
     }
@@ -1,6 +1,7 @@
 package com.example.db.ui.home;
 
 import android.os.Bundle;
+import android.text.format.DateUtils;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -9,24 +10,46 @@ import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.Lifecycle;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
+import androidx.paging.CombinedLoadStates;
+import androidx.paging.LoadState;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 import com.example.db.R;
 import com.example.db.databinding.FragmentHomeBinding;
+import com.example.db.ui.adapter.ListDiffService;
 import com.example.db.ui.adapter.MovieAdapter;
+import com.example.db.ui.adapter.PagedMovieAdapter;
+import com.example.db.ui.image.PosterPreloader;
+import com.example.db.data.local.BookmarkIndex;
+import com.example.db.data.local.Feed;
 import com.example.db.data.model.Movie;
+import com.example.db.data.repository.SectionState;
+import com.example.db.data.sync.SyncStatus;
+import com.example.db.util.AppLog;
 import com.google.android.material.snackbar.Snackbar;
 import dagger.hilt.android.AndroidEntryPoint;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import java.util.EnumMap;
+import java.util.Map;
+import javax.inject.Inject;
+import kotlin.Unit;
 
 @AndroidEntryPoint
 public class HomeFragment extends Fragment implements MovieAdapter.MovieClickListener {
     private static final String TAG = "HomeFragment";
+    @Inject ListDiffService diffService;
+    @Inject BookmarkIndex bookmarks;
     private FragmentHomeBinding binding;
     private HomeViewModel viewModel;
-    private MovieAdapter trendingAdapter;
-    private MovieAdapter nowPlayingAdapter;
+    private final Map<Feed, PagedMovieAdapter> adapters = new EnumMap<>(Feed.class);
+    private final Map<Feed, SectionState> reportedStates = new EnumMap<>(Feed.class);
+    private final CompositeDisposable disposables = new CompositeDisposable();
+    private boolean reportedFullyDrawn;
 
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
@@ -37,72 +60,124 @@ public class HomeFragment extends Fragment implements MovieAdapter.MovieClickLis
     @Override
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
-        Log.d(TAG, "HomeFragment created");
+        AppLog.d(TAG, "HomeFragment created");
         viewModel = new ViewModelProvider(this).get(HomeViewModel.class);
         setupRecyclerViews();
         setupSwipeRefresh();
         setupObservers();
         setupFab();
-        
-        // Force a refresh on creation
-        viewModel.refreshMovies();
     }
 
     private void setupRecyclerViews() {
-        trendingAdapter = new MovieAdapter(this);
-        nowPlayingAdapter = new MovieAdapter(this);
-
-        binding.trendingMoviesRecyclerView.setLayoutManager(
-            new LinearLayoutManager(requireContext(), LinearLayoutManager.HORIZONTAL, false)
-        );
-        binding.trendingMoviesRecyclerView.setAdapter(trendingAdapter);
+        setupSection(Feed.TRENDING, binding.trendingMoviesRecyclerView);
+        setupSection(Feed.NOW_PLAYING, binding.nowPlayingRecyclerView);
+    }
 
-        binding.nowPlayingRecyclerView.setLayoutManager(
+    private void setupSection(Feed feed, RecyclerView recyclerView) {
+        PagedMovieAdapter adapter = new PagedMovieAdapter(this, bookmarks, diffService);
+        recyclerView.setLayoutManager(
             new LinearLayoutManager(requireContext(), LinearLayoutManager.HORIZONTAL, false)
         );
-        binding.nowPlayingRecyclerView.setAdapter(nowPlayingAdapter);
+        recyclerView.setAdapter(adapter);
+        PosterPreloader.attach(recyclerView, adapter);
+        adapters.put(feed, adapter);
     }
 
     private void setupSwipeRefresh() {
-        binding.swipeRefresh.setOnRefreshListener(() -> {
-            viewModel.refreshMovies();
-        });
+        binding.swipeRefresh.setOnRefreshListener(viewModel::refresh);
     }
 
     private void setupObservers() {
-        viewModel.getTrendingMovies().observe(getViewLifecycleOwner(), movies -> {
-            Log.d(TAG, "Trending movies updated: " + (movies != null ? movies.size() : 0) + " items");
-            trendingAdapter.submitList(movies);
-            if (movies != null && movies.isEmpty()) {
-                Toast.makeText(requireContext(), "No trending movies found", Toast.LENGTH_SHORT).show();
+        Lifecycle lifecycle = getViewLifecycleOwner().getLifecycle();
+        for (Map.Entry<Feed, PagedMovieAdapter> section : adapters.entrySet()) {
+            Feed feed = section.getKey();
+            PagedMovieAdapter adapter = section.getValue();
+            disposables.add(viewModel.getSection(feed)
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(pagingData -> adapter.submitData(lifecycle, pagingData)));
+            adapter.addLoadStateListener(loadStates -> {
+                onFeedLoadStates(feed, adapter, loadStates);
+                return Unit.INSTANCE;
+            });
+        }
+
+        // Each section settles on its own; the spinner stays up while any of them is loading
+        viewModel.getSectionStates().observe(getViewLifecycleOwner(), states -> {
+            boolean loading = false;
+            for (SectionState state : states.values()) {
+                if (state.getStatus() == SectionState.Status.LOADING) {
+                    loading = true;
+                }
             }
-        });
-
-        viewModel.getNowPlayingMovies().observe(getViewLifecycleOwner(), movies -> {
-            Log.d(TAG, "Now playing movies updated: " + (movies != null ? movies.size() : 0) + " items");
-            nowPlayingAdapter.submitList(movies);
-            if (movies != null && movies.isEmpty()) {
-                Toast.makeText(requireContext(), "No now playing movies found", Toast.LENGTH_SHORT).show();
+            binding.swipeRefresh.setRefreshing(loading);
+            for (SectionState state : states.values()) {
+                onSectionState(state);
             }
         });
 
-        viewModel.getIsLoading().observe(getViewLifecycleOwner(), isLoading -> {
-            binding.swipeRefresh.setRefreshing(isLoading);
+        viewModel.getLastSync().observe(getViewLifecycleOwner(), lastSync -> {
+            if (lastSync == SyncStatus.NEVER) {
+                binding.lastSyncText.setVisibility(View.GONE);
+                return;
+            }
+            binding.lastSyncText.setText(getString(R.string.last_synced,
+                DateUtils.getRelativeTimeSpanString(lastSync, System.currentTimeMillis(), DateUtils.MINUTE_IN_MILLIS)));
+            binding.lastSyncText.setVisibility(View.VISIBLE);
         });
 
         viewModel.getError().observe(getViewLifecycleOwner(), error -> {
             if (error != null) {
                 Log.e(TAG, "Error loading data: " + error);
                 Snackbar.make(binding.getRoot(), error, Snackbar.LENGTH_LONG).show();
-                Toast.makeText(requireContext(), "Error: " + error, Toast.LENGTH_LONG).show();
             }
         });
     }
 
+    private void onSectionState(SectionState state) {
+        // Report each settled state once, even though the whole map is re-delivered
+        if (reportedStates.get(state.getFeed()) == state) {
+            return;
+        }
+        reportedStates.put(state.getFeed(), state);
+
+        if (state.getStatus() == SectionState.Status.ERROR) {
+            Snackbar.make(binding.getRoot(), "Failed to load " + sectionName(state.getFeed()) + " movies: "
+                + state.getError().getMessage(), Snackbar.LENGTH_LONG).show();
+        }
+    }
+
+    private void onFeedLoadStates(Feed feed, PagedMovieAdapter adapter, CombinedLoadStates loadStates) {
+        if (binding == null) {
+            return;
+        }
+        LoadState append = loadStates.getAppend();
+        if (append instanceof LoadState.Error) {
+            String message = ((LoadState.Error) append).getError().getMessage();
+            Snackbar.make(binding.getRoot(), "Failed to load more " + sectionName(feed) + " movies: " + message,
+                Snackbar.LENGTH_LONG).show();
+        } else if (loadStates.getRefresh() instanceof LoadState.NotLoading && append.getEndOfPaginationReached()
+            && adapter.getItemCount() == 0) {
+            Toast.makeText(requireContext(), "No " + sectionName(feed) + " movies found", Toast.LENGTH_SHORT).show();
+        }
+        if (!reportedFullyDrawn && adapter.getItemCount() > 0) {
+            // First movies on screen; marks time-to-full-display in startup traces and vitals
+            reportedFullyDrawn = true;
+            requireActivity().reportFullyDrawn();
+        }
+    }
+
+    private static String sectionName(Feed feed) {
+        switch (feed) {
+            case TRENDING:
+                return "trending";
+            case NOW_PLAYING:
+            default:
+                return "now playing";
+        }
+    }
+
     private void setupFab() {
-        binding.fabRefresh.setOnClickListener(v -> {
-            viewModel.refreshMovies();
-        });
+        binding.fabRefresh.setOnClickListener(v -> viewModel.refresh());
     }
 
     @Override
@@ -120,6 +195,8 @@ public class HomeFragment extends Fragment implements MovieAdapter.MovieClickLis
     @Override
     public void onDestroyView() {
         super.onDestroyView();
+        disposables.clear();
+        adapters.clear();
         binding = null;
     }
 } 
\ No newline at end of file
@@ -1,116 +1,115 @@
 package com.example.db.ui.home;
 
-import android.util.Log;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
+import androidx.lifecycle.ViewModelKt;
+import androidx.paging.PagingData;
+import androidx.paging.rxjava3.PagingRx;
+import com.example.db.data.local.Feed;
 import com.example.db.data.model.Movie;
+import com.example.db.data.repository.HomeSectionsLoader;
 import com.example.db.data.repository.MovieRepository;
+import com.example.db.data.repository.SectionState;
+import com.example.db.data.sync.SyncStatus;
+import com.example.db.util.AppLog;
+import com.example.db.util.AppSchedulers;
 import dagger.hilt.android.lifecycle.HiltViewModel;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
-import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.disposables.Disposable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import javax.inject.Inject;
-import io.reactivex.rxjava3.core.Completable;
 
 @HiltViewModel
 public class HomeViewModel extends ViewModel {
     private static final String TAG = "HomeViewModel";
+    // Order of the rows on the Home screen; a new section only needs a Feed and a row here
+    static final List<Feed> SECTIONS = Collections.unmodifiableList(Arrays.asList(Feed.TRENDING, Feed.NOW_PLAYING));
+
     private final MovieRepository movieRepository;
+    private final HomeSectionsLoader sectionsLoader;
+    private final AppSchedulers schedulers;
     private final CompositeDisposable disposables = new CompositeDisposable();
+    private Disposable sectionsLoad;
 
-    private final MutableLiveData<List<Movie>> trendingMovies = new MutableLiveData<>();
-    private final MutableLiveData<List<Movie>> nowPlayingMovies = new MutableLiveData<>();
-    private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
+    // Paged feeds backed by Room; the remote mediators fetch further TMDB pages on scroll
+    private final Map<Feed, Flowable<PagingData<Movie>>> sections = new EnumMap<>(Feed.class);
+    private final MutableLiveData<Map<Feed, SectionState>> sectionStates =
+        new MutableLiveData<>(new EnumMap<>(Feed.class));
     private final MutableLiveData<String> error = new MutableLiveData<>();
-
-    private boolean forceRefresh = false;
+    private final MutableLiveData<Long> lastSync = new MutableLiveData<>();
 
     @Inject
-    public HomeViewModel(MovieRepository movieRepository) {
+    public HomeViewModel(MovieRepository movieRepository, HomeSectionsLoader sectionsLoader, SyncStatus syncStatus,
+                         AppSchedulers schedulers) {
         this.movieRepository = movieRepository;
-        Log.d(TAG, "HomeViewModel created");
-        loadMovies();
+        this.sectionsLoader = sectionsLoader;
+        this.schedulers = schedulers;
+        AppLog.d(TAG, "HomeViewModel created");
+        for (Feed feed : SECTIONS) {
+            sections.put(feed, PagingRx.cachedIn(movieRepository.getFeed(feed), ViewModelKt.getViewModelScope(this)));
+        }
+        disposables.add(syncStatus.observeLastSync()
+            .subscribeOn(schedulers.io())
+            .observeOn(schedulers.main())
+            .subscribe(lastSync::setValue));
+        // Usually a no-op after a background sync, which leaves both feeds fresh
+        loadSections(false);
     }
 
-    private void loadMovies() {
-        isLoading.setValue(true);
-        error.setValue(null);
-        
-        // If forcing refresh, reset the flag
-        boolean refreshing = forceRefresh;
-        forceRefresh = false;
-        
-        Log.d(TAG, "Loading movies, forceRefresh=" + refreshing);
-        
-        disposables.add(movieRepository.getTrendingMovies(refreshing)
-            .subscribeOn(Schedulers.io())
-            .observeOn(AndroidSchedulers.mainThread())
-            .subscribe(
-                movies -> {
-                    Log.d(TAG, "Trending movies loaded successfully: " + movies.size());
-                    trendingMovies.setValue(movies);
-                    loadNowPlayingMovies(refreshing);
-                },
-                throwable -> {
-                    Log.e(TAG, "Error loading trending movies", throwable);
-                    error.setValue("Failed to load trending movies: " + throwable.getMessage());
-                    isLoading.setValue(false);
-                    // Try to load now playing even if trending fails
-                    loadNowPlayingMovies(refreshing);
-                }
-            ));
+    // Pull-to-refresh; refetches every section regardless of cache freshness
+    public void refresh() {
+        loadSections(true);
     }
 
-    private void loadNowPlayingMovies(boolean forceRefresh) {
-        Log.d(TAG, "Loading now playing movies, forceRefresh=" + forceRefresh);
-        
-        disposables.add(movieRepository.getNowPlayingMovies(forceRefresh)
-            .subscribeOn(Schedulers.io())
-            .observeOn(AndroidSchedulers.mainThread())
-            .subscribe(
-                movies -> {
-                    Log.d(TAG, "Now playing movies loaded successfully: " + movies.size());
-                    nowPlayingMovies.setValue(movies);
-                    isLoading.setValue(false);
-                },
-                throwable -> {
-                    Log.e(TAG, "Error loading now playing movies", throwable);
-                    error.setValue("Failed to load now playing movies: " + throwable.getMessage());
-                    isLoading.setValue(false);
-                }
-            ));
+    private void loadSections(boolean force) {
+        if (sectionsLoad != null) {
+            disposables.remove(sectionsLoad);
+        }
+        sectionsLoad = sectionsLoader.load(SECTIONS, force)
+            .observeOn(schedulers.main())
+            .subscribe(this::onSectionState);
+        disposables.add(sectionsLoad);
+    }
+
+    private void onSectionState(SectionState state) {
+        Map<Feed, SectionState> states = new EnumMap<>(Feed.class);
+        Map<Feed, SectionState> current = sectionStates.getValue();
+        if (current != null) {
+            states.putAll(current);
+        }
+        states.put(state.getFeed(), state);
+        sectionStates.setValue(states);
     }
 
     public void bookmarkMovie(Movie movie) {
-        disposables.add((movie.isBookmarked() ? 
-            movieRepository.unbookmarkMovie(movie) :
-            movieRepository.bookmarkMovie(movie))
-            .subscribeOn(Schedulers.io())
-            .observeOn(AndroidSchedulers.mainThread())
+        // The feeds do not read bookmarks, so the write reloads nothing; the cell rebinds from
+        // BookmarkIndex
+        disposables.add(movieRepository.toggleBookmark(movie)
+            .subscribeOn(schedulers.databaseWrite())
+            .observeOn(schedulers.main())
             .subscribe(
-                () -> refreshMovies(),
+                () -> {},
                 throwable -> error.setValue("Failed to update bookmark: " + throwable.getMessage())
             ));
     }
 
-    public void refreshMovies() {
-        Log.d(TAG, "Refresh movies requested");
-        forceRefresh = true;
-        loadMovies();
-    }
-
-    public LiveData<List<Movie>> getTrendingMovies() {
-        return trendingMovies;
+    public Flowable<PagingData<Movie>> getSection(Feed feed) {
+        return sections.get(feed);
     }
 
-    public LiveData<List<Movie>> getNowPlayingMovies() {
-        return nowPlayingMovies;
+    public LiveData<Map<Feed, SectionState>> getSectionStates() {
+        return sectionStates;
     }
 
-    public LiveData<Boolean> getIsLoading() {
-        return isLoading;
+    // SyncStatus.NEVER until the first background sync completes
+    public LiveData<Long> getLastSync() {
+        return lastSync;
     }
 
     public LiveData<String> getError() {
@@ -122,4 +121,4 @@ public class HomeViewModel extends ViewModel {
         super.onCleared();
         disposables.clear();
     }
-} 
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.example.db.ui.image;
+
+import android.content.Context;
+import android.util.DisplayMetrics;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.request.FutureTarget;
+import com.example.db.data.images.TmdbImage;
+import com.example.db.data.sync.ImageWarmer;
+import io.reactivex.rxjava3.core.Completable;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+// Downloads posters into Glide's disk cache at the width of a Home row cell, so they resolve to
+// the same TMDB bucket, and therefore the same cache entry, as the cells that show them later
+public class GlideImageWarmer implements ImageWarmer {
+    // fragment_home padding plus item_movie margins on both sides
+    private static final int HOME_ROW_INSET_DP = 48;
+
+    private final Context context;
+
+    public GlideImageWarmer(Context context) {
+        this.context = context;
+    }
+
+    @Override
+    public Completable warmPosters(List<String> posterPaths) {
+        return Completable.fromAction(() -> {
+            RequestManager glide = Glide.with(context);
+            DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+            int width = metrics.widthPixels - Math.round(HOME_ROW_INSET_DP * metrics.density);
+
+            List<FutureTarget<File>> targets = new ArrayList<>(posterPaths.size());
+            for (String path : posterPaths) {
+                targets.add(glide.downloadOnly().load(TmdbImage.poster(path)).submit(width, width));
+            }
+            for (FutureTarget<File> target : targets) {
+                try {
+                    target.get();
+                } catch (ExecutionException e) {
+                    // A missing poster should not fail the sync; the cell will show the placeholder
+                } finally {
+                    glide.clear(target);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.db.ui.image;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.module.AppGlideModule;
+import com.example.db.data.images.PinnedImageStore;
+import com.example.db.data.images.TmdbImage;
+import dagger.hilt.EntryPoint;
+import dagger.hilt.InstallIn;
+import dagger.hilt.android.EntryPointAccessors;
+import dagger.hilt.components.SingletonComponent;
+import java.io.InputStream;
+
+// Sizes Glide's caches for poster-heavy scrolling and registers the TMDB size-aware loader
+@GlideModule
+public class MovieGlideModule extends AppGlideModule {
+    public static final String DISK_CACHE_DIR = "images";
+    public static final long DISK_CACHE_BYTES = 100L * 1024 * 1024;
+
+    // In screens of ARGB_8888 pixels; thumbnails decode as RGB_565, so each screen holds twice as many
+    private static final float MEMORY_CACHE_SCREENS = 2;
+    private static final float BITMAP_POOL_SCREENS = 3;
+
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        MemorySizeCalculator calculator = new MemorySizeCalculator.Builder(context)
+            .setMemoryCacheScreens(MEMORY_CACHE_SCREENS)
+            .setBitmapPoolScreens(BITMAP_POOL_SCREENS)
+            .build();
+        builder.setMemoryCache(new LruResourceCache(calculator.getMemoryCacheSize()));
+        builder.setBitmapPool(new LruBitmapPool(calculator.getBitmapPoolSize()));
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(context, DISK_CACHE_DIR, DISK_CACHE_BYTES));
+        builder.setLogLevel(Log.ERROR);
+    }
+
+    @Override
+    public void registerComponents(@NonNull Context context, @NonNull Glide glide, @NonNull Registry registry) {
+        PinnedImageStore pinnedImages = EntryPointAccessors
+            .fromApplication(context, ImageEntryPoint.class)
+            .pinnedImageStore();
+        registry.prepend(TmdbImage.class, InputStream.class, new TmdbImageLoader.Factory(pinnedImages));
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+
+    // Glide creates this module itself, so it reaches the Hilt graph through an entry point
+    @EntryPoint
+    @InstallIn(SingletonComponent.class)
+    public interface ImageEntryPoint {
+        PinnedImageStore pinnedImageStore();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.db.ui.image;
+
+import android.view.View;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.integration.recyclerview.RecyclerViewPreloader;
+import com.bumptech.glide.util.ViewPreloadSizeProvider;
+import com.example.db.R;
+import com.example.db.data.model.Movie;
+import java.util.Collections;
+import java.util.List;
+
+// Starts poster loads a few cells ahead of the scroll direction. The preload size is taken from
+// the first poster view laid out, so it resolves to the same TMDB bucket as the cells.
+public final class PosterPreloader implements ListPreloader.PreloadModelProvider<Movie> {
+    private static final int MAX_PRELOAD = 6;
+
+    // Read-only view of the adapter's items; must not trigger paging loads
+    public interface Source {
+        @Nullable
+        Movie peekMovie(int position);
+    }
+
+    private final RequestManager glide;
+    private final Source source;
+
+    private PosterPreloader(RequestManager glide, Source source) {
+        this.glide = glide;
+        this.source = source;
+    }
+
+    public static void attach(RecyclerView recyclerView, Source source) {
+        RequestManager glide = Glide.with(recyclerView);
+        ViewPreloadSizeProvider<Movie> sizeProvider = new ViewPreloadSizeProvider<>();
+        recyclerView.addOnChildAttachStateChangeListener(new RecyclerView.OnChildAttachStateChangeListener() {
+            @Override
+            public void onChildViewAttachedToWindow(@NonNull View view) {
+                View poster = view.findViewById(R.id.posterImage);
+                if (poster != null) {
+                    sizeProvider.setView(poster);
+                    recyclerView.removeOnChildAttachStateChangeListener(this);
+                }
+            }
+
+            @Override
+            public void onChildViewDetachedFromWindow(@NonNull View view) {
+            }
+        });
+        recyclerView.addOnScrollListener(new RecyclerViewPreloader<>(
+            glide, new PosterPreloader(glide, source), sizeProvider, MAX_PRELOAD));
+    }
+
+    @NonNull
+    @Override
+    public List<Movie> getPreloadItems(int position) {
+        Movie movie = source.peekMovie(position);
+        if (movie == null || movie.getPosterPath() == null) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(movie);
+    }
+
+    @Nullable
+    @Override
+    public RequestBuilder<?> getPreloadRequestBuilder(@NonNull Movie movie) {
+        return PosterRequests.thumbnail(glide, movie.getPosterPath());
+    }
+}
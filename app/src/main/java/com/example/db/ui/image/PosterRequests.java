@@ -0,0 +1,25 @@
+package com.example.db.ui.image;
+
+import android.graphics.drawable.Drawable;
+import androidx.annotation.Nullable;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.load.DecodeFormat;
+import com.example.db.R;
+import com.example.db.data.images.TmdbImage;
+
+// One definition of the list-cell poster request. The preloader must build exactly the same
+// request as the cell, options included, or its warm cache entries are never hit.
+public final class PosterRequests {
+    private PosterRequests() {
+    }
+
+    // Thumbnails have no alpha and sit under a crop, so RGB_565 halves their memory for free
+    public static RequestBuilder<Drawable> thumbnail(RequestManager glide, @Nullable String posterPath) {
+        return glide.load(TmdbImage.poster(posterPath))
+            .format(DecodeFormat.PREFER_RGB_565)
+            .centerCrop()
+            .placeholder(R.drawable.placeholder_poster)
+            .error(R.drawable.placeholder_poster);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.db.ui.image;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.load.model.ModelCache;
+import com.bumptech.glide.load.model.ModelLoader;
+import com.bumptech.glide.load.model.ModelLoaderFactory;
+import com.bumptech.glide.load.model.MultiModelLoaderFactory;
+import com.bumptech.glide.load.model.stream.BaseGlideUrlLoader;
+import com.example.db.data.images.PinnedImageStore;
+import com.example.db.data.images.TmdbImage;
+import com.example.db.data.images.TmdbImageSizes;
+import java.io.File;
+import java.io.InputStream;
+
+// Turns a TmdbImage into the URL of the bucket that fits the view Glide measured, or into the
+// pinned file when the movie is bookmarked
+class TmdbImageLoader extends BaseGlideUrlLoader<TmdbImage> {
+    private static final int URL_CACHE_SIZE = 500;
+
+    private final PinnedImageStore pinnedImages;
+    private final ModelLoader<File, InputStream> fileLoader;
+
+    private TmdbImageLoader(ModelLoader<GlideUrl, InputStream> urlLoader,
+                            ModelCache<TmdbImage, GlideUrl> urlCache,
+                            PinnedImageStore pinnedImages,
+                            ModelLoader<File, InputStream> fileLoader) {
+        super(urlLoader, urlCache);
+        this.pinnedImages = pinnedImages;
+        this.fileLoader = fileLoader;
+    }
+
+    @Nullable
+    @Override
+    public LoadData<InputStream> buildLoadData(@NonNull TmdbImage image, int width, int height,
+                                               @NonNull Options options) {
+        File pinned = pinnedImages.fileFor(image);
+        if (pinned != null) {
+            return fileLoader.buildLoadData(pinned, width, height, options);
+        }
+        return super.buildLoadData(image, width, height, options);
+    }
+
+    @Override
+    protected String getUrl(TmdbImage image, int width, int height, Options options) {
+        return TmdbImageSizes.urlFor(image, width);
+    }
+
+    @Override
+    public boolean handles(@NonNull TmdbImage image) {
+        return true;
+    }
+
+    static class Factory implements ModelLoaderFactory<TmdbImage, InputStream> {
+        private final ModelCache<TmdbImage, GlideUrl> urlCache = new ModelCache<>(URL_CACHE_SIZE);
+        private final PinnedImageStore pinnedImages;
+
+        Factory(PinnedImageStore pinnedImages) {
+            this.pinnedImages = pinnedImages;
+        }
+
+        @NonNull
+        @Override
+        public ModelLoader<TmdbImage, InputStream> build(@NonNull MultiModelLoaderFactory multiFactory) {
+            return new TmdbImageLoader(multiFactory.build(GlideUrl.class, InputStream.class), urlCache,
+                pinnedImages, multiFactory.build(File.class, InputStream.class));
+        }
+
+        @Override
+        public void teardown() {
+        }
+    }
+}
@@ -1,29 +1,44 @@
 package com.example.db.ui.search;
 
+import android.database.Cursor;
+import android.database.MatrixCursor;
 import android.os.Bundle;
+import android.provider.BaseColumns;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.widget.SearchView;
+import androidx.cursoradapter.widget.SimpleCursorAdapter;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
 import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 import com.example.db.R;
 import com.example.db.databinding.FragmentSearchBinding;
+import com.example.db.ui.adapter.ListDiffService;
 import com.example.db.ui.adapter.MovieAdapter;
+import com.example.db.ui.image.PosterPreloader;
+import com.example.db.data.local.BookmarkIndex;
 import com.example.db.data.model.Movie;
+import com.example.db.data.search.SearchEngine;
+import com.example.db.data.search.TitleSuggestion;
 import com.google.android.material.snackbar.Snackbar;
 import dagger.hilt.android.AndroidEntryPoint;
 import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
 import io.reactivex.rxjava3.subjects.PublishSubject;
 
 @AndroidEntryPoint
 public class SearchFragment extends Fragment implements MovieAdapter.MovieClickListener {
+    private static final int LOAD_MORE_THRESHOLD = 6;
+    private static final String COLUMN_TITLE = "title";
+    @Inject ListDiffService diffService;
+    @Inject BookmarkIndex bookmarks;
     private FragmentSearchBinding binding;
     private SearchViewModel viewModel;
     private MovieAdapter movieAdapter;
@@ -42,15 +57,25 @@ public class SearchFragment extends Fragment implements MovieAdapter.MovieClickL
         viewModel = new ViewModelProvider(this).get(SearchViewModel.class);
         setupRecyclerView();
         setupSearchView();
+        setupSuggestions();
         setupObservers();
     }
 
     private void setupRecyclerView() {
-        movieAdapter = new MovieAdapter(this);
-        binding.searchRecyclerView.setLayoutManager(
-            new GridLayoutManager(requireContext(), 2)
-        );
+        movieAdapter = new MovieAdapter(this, bookmarks, diffService.lane("search"));
+        GridLayoutManager layoutManager = new GridLayoutManager(requireContext(), 2);
+        binding.searchRecyclerView.setLayoutManager(layoutManager);
         binding.searchRecyclerView.setAdapter(movieAdapter);
+        PosterPreloader.attach(binding.searchRecyclerView, movieAdapter);
+        binding.searchRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                // Ask for the next page before the user reaches the last row
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition() >= movieAdapter.getItemCount() - LOAD_MORE_THRESHOLD) {
+                    viewModel.loadNextPage();
+                }
+            }
+        });
     }
 
     private void setupSearchView() {
@@ -70,12 +95,47 @@ public class SearchFragment extends Fragment implements MovieAdapter.MovieClickL
 
         disposables.add(searchSubject
             .debounce(300, TimeUnit.MILLISECONDS)
-            .filter(query -> query.length() >= 2)
+            .map(SearchEngine::normalize)
+            // Short queries still go through, so that clearing the box cancels the last search
             .distinctUntilChanged()
             .observeOn(AndroidSchedulers.mainThread())
             .subscribe(query -> viewModel.searchMovies(query)));
     }
 
+    // Title suggestions from the local index on every keystroke, ahead of the debounced search
+    private void setupSuggestions() {
+        SimpleCursorAdapter suggestions = new SimpleCursorAdapter(requireContext(),
+            android.R.layout.simple_list_item_1, null, new String[] {COLUMN_TITLE},
+            new int[] {android.R.id.text1}, 0);
+        suggestions.setStringConversionColumn(1);
+        // Runs on the adapter's filter thread; the index lookup itself takes microseconds
+        suggestions.setFilterQueryProvider(constraint -> {
+            MatrixCursor cursor = new MatrixCursor(new String[] {BaseColumns._ID, COLUMN_TITLE});
+            for (TitleSuggestion suggestion : viewModel.suggest(constraint != null ? constraint.toString() : "")) {
+                cursor.addRow(new Object[] {suggestion.getMovieId(), suggestion.getTitle()});
+            }
+            return cursor;
+        });
+        binding.searchView.setSuggestionsAdapter(suggestions);
+        SearchView.SearchAutoComplete input = binding.searchView.findViewById(androidx.appcompat.R.id.search_src_text);
+        input.setThreshold(1);
+        binding.searchView.setOnSuggestionListener(new SearchView.OnSuggestionListener() {
+            @Override
+            public boolean onSuggestionSelect(int position) {
+                return false;
+            }
+
+            @Override
+            public boolean onSuggestionClick(int position) {
+                Cursor cursor = suggestions.getCursor();
+                if (cursor != null && cursor.moveToPosition(position)) {
+                    binding.searchView.setQuery(cursor.getString(1), true);
+                }
+                return true;
+            }
+        });
+    }
+
     private void setupObservers() {
         viewModel.getSearchResults().observe(getViewLifecycleOwner(), movies -> {
             movieAdapter.submitList(movies);
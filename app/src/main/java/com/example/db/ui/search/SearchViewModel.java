@@ -4,68 +4,153 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 import com.example.db.data.model.Movie;
+import com.example.db.data.model.MovieResponse;
 import com.example.db.data.repository.MovieRepository;
+import com.example.db.data.search.SearchEngine;
+import com.example.db.data.search.SearchResult;
+import com.example.db.data.search.TitleSuggestion;
+import com.example.db.data.search.TitleSuggestions;
+import com.example.db.util.AppSchedulers;
 import dagger.hilt.android.lifecycle.HiltViewModel;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
-import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.disposables.SerialDisposable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import java.util.ArrayList;
 import java.util.List;
 import javax.inject.Inject;
 
 @HiltViewModel
 public class SearchViewModel extends ViewModel {
+    private static final int MAX_SUGGESTIONS = 8;
+    // Shorter queries match too much to be worth a call; they clear the results instead
+    static final int MIN_QUERY_LENGTH = 2;
+
     private final MovieRepository repository;
+    private final SearchEngine searchEngine;
+    private final TitleSuggestions titleSuggestions;
+    private final AppSchedulers schedulers;
     private final CompositeDisposable disposables = new CompositeDisposable();
-    
+    private final PublishSubject<String> queries = PublishSubject.create();
+    // At most one next-page load; a new query or a new load disposes the previous one
+    private final SerialDisposable pageLoad = new SerialDisposable();
+
     private final MutableLiveData<List<Movie>> searchResults = new MutableLiveData<>();
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
     private final MutableLiveData<String> error = new MutableLiveData<>();
 
+    // Paging state of the current query
+    private String currentQuery;
+    private int loadedPage;
+    private int totalPages;
+    private boolean isLoadingPage;
+
     @Inject
-    public SearchViewModel(MovieRepository repository) {
+    public SearchViewModel(MovieRepository repository, SearchEngine searchEngine, TitleSuggestions titleSuggestions,
+                           AppSchedulers schedulers) {
         this.repository = repository;
+        this.searchEngine = searchEngine;
+        this.titleSuggestions = titleSuggestions;
+        this.schedulers = schedulers;
+        disposables.add(pageLoad);
+        disposables.add(searchEngine.latest(queries)
+            .observeOn(schedulers.main())
+            .subscribe(this::onFirstPage));
     }
 
     public void searchMovies(String query) {
-        if (query == null || query.trim().isEmpty()) {
+        // Supersedes whatever is loading for the previous query
+        pageLoad.set(Disposable.disposed());
+        isLoadingPage = false;
+        String normalized = SearchEngine.normalize(query);
+        if (normalized.length() < MIN_QUERY_LENGTH) {
+            // A blank query only cancels what is in flight
+            currentQuery = null;
+            isLoading.setValue(false);
             searchResults.setValue(null);
+            queries.onNext("");
             return;
         }
 
         // Clear previous error
         error.setValue(null);
+        currentQuery = normalized;
+        loadedPage = 0;
+        totalPages = 0;
         isLoading.setValue(true);
-        
-        disposables.add(repository.searchMovies(query)
-            .subscribeOn(Schedulers.io())
-            .observeOn(AndroidSchedulers.mainThread())
+        queries.onNext(normalized);
+    }
+
+    // Local matches arrive first and stay in place; the complete result only adds to them
+    private void onFirstPage(SearchResult result) {
+        if (!result.getQuery().equals(currentQuery)) {
+            return;
+        }
+        searchResults.setValue(result.getMovies());
+        if (!result.isComplete()) {
+            return;
+        }
+        isLoading.setValue(false);
+        loadedPage = 1;
+        totalPages = result.getTotalPages();
+        if (result.getMovies().isEmpty()) {
+            error.setValue("No movies found for '" + result.getQuery() + "'");
+        }
+    }
+
+    // Cached titles for the autocomplete list; synchronous and cheap, so it runs per keystroke
+    public List<TitleSuggestion> suggest(String prefix) {
+        return titleSuggestions.suggest(prefix, MAX_SUGGESTIONS);
+    }
+
+    // Called as the grid nears its end; fetches the next TMDB page of the current query
+    public void loadNextPage() {
+        if (currentQuery == null || isLoadingPage || loadedPage == 0 || loadedPage >= totalPages) {
+            return;
+        }
+        loadPage(currentQuery, loadedPage + 1);
+    }
+
+    private void loadPage(String query, int page) {
+        isLoadingPage = true;
+        isLoading.setValue(true);
+
+        pageLoad.set(searchEngine.search(query, page)
+            .subscribeOn(schedulers.io())
+            .observeOn(schedulers.main())
             .subscribe(
-                movies -> {
-                    searchResults.setValue(movies);
+                response -> {
+                    isLoadingPage = false;
                     isLoading.setValue(false);
-                    if (movies.isEmpty()) {
-                        error.setValue("No movies found for '" + query + "'");
+                    if (!query.equals(currentQuery)) {
+                        return;
                     }
+                    onPageLoaded(page, response);
                 },
                 throwable -> {
+                    isLoadingPage = false;
                     error.setValue("Search failed: " + throwable.getMessage());
                     isLoading.setValue(false);
                 }
             ));
     }
 
+    private void onPageLoaded(int page, MovieResponse response) {
+        List<Movie> pageResults = response.getResults() != null ? response.getResults() : new ArrayList<>();
+        loadedPage = page;
+        totalPages = response.getTotalPages();
+
+        List<Movie> currentList = searchResults.getValue();
+        searchResults.setValue(SearchEngine.appendPage(currentList != null ? currentList : new ArrayList<>(), pageResults));
+    }
+
     public void bookmarkMovie(Movie movie) {
-        disposables.add(repository.bookmarkMovie(movie)
-            .subscribeOn(Schedulers.io())
-            .observeOn(AndroidSchedulers.mainThread())
+        // The result list stays as it is; the cell rebinds from BookmarkIndex
+        disposables.add(repository.toggleBookmark(movie)
+            .subscribeOn(schedulers.databaseWrite())
+            .observeOn(schedulers.main())
             .subscribe(
-                () -> {
-                    movie.setBookmarked(true);
-                    List<Movie> currentList = searchResults.getValue();
-                    if (currentList != null) {
-                        searchResults.setValue(currentList);
-                    }
-                },
+                () -> {},
                 throwable -> error.setValue(throwable.getMessage())
             ));
     }
@@ -87,4 +172,4 @@ public class SearchViewModel extends ViewModel {
         super.onCleared();
         disposables.clear();
     }
-} 
\ No newline at end of file
+}
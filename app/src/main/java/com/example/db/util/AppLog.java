@@ -0,0 +1,39 @@
+package com.example.db.util;
+
+import android.util.Log;
+import com.example.db.BuildConfig;
+
+// Build-type-aware logging. Release builds keep warnings and errors only; debug builds log
+// everything at or above a level that can be changed at runtime. Messages built by string
+// concatenation go behind isLoggable() so release builds never assemble them.
+public final class AppLog {
+    private static volatile int level = Log.DEBUG;
+
+    private AppLog() {
+    }
+
+    public static boolean isLoggable(int priority) {
+        return BuildConfig.DEBUG ? priority >= level : priority >= Log.WARN;
+    }
+
+    // Debug builds only; Log.VERBOSE also turns on full HTTP body logging
+    public static void setLevel(int priority) {
+        level = priority;
+    }
+
+    public static int getLevel() {
+        return level;
+    }
+
+    public static void d(String tag, String message) {
+        if (isLoggable(Log.DEBUG)) {
+            Log.d(tag, message);
+        }
+    }
+
+    public static void e(String tag, String message) {
+        if (isLoggable(Log.ERROR)) {
+            Log.e(tag, message);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.db.util;
+
+import io.reactivex.rxjava3.core.Scheduler;
+
+// The app's schedulers, injected rather than taken from Schedulers.* so every pool is bounded
+// and tests can substitute TestScheduler or trampoline
+public interface AppSchedulers {
+    // Blocking I/O: network calls and synchronous database reads
+    Scheduler io();
+
+    // Single thread for database writes, so they queue instead of contending for Room's lock
+    Scheduler databaseWrite();
+
+    // CPU work such as mapping and list diffing
+    Scheduler computation();
+
+    Scheduler main();
+}
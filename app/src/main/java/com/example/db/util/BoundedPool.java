@@ -0,0 +1,101 @@
+package com.example.db.util;
+
+import android.os.Process;
+import androidx.annotation.NonNull;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fixed-size, background-priority pool that counts what it runs. Wait is the time a task spent
+// queued before a thread picked it up; run is the time it then took.
+public class BoundedPool implements Executor {
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+
+    public BoundedPool(String name, int threads) {
+        this.name = name;
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(() -> {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }, name + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        // Idle pools give their threads back
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(@NonNull Runnable task) {
+        long submitted = System.nanoTime();
+        executor.execute(() -> {
+            long started = System.nanoTime();
+            long wait = started - submitted;
+            totalWaitNanos.addAndGet(wait);
+            long max;
+            do {
+                max = maxWaitNanos.get();
+            } while (wait > max && !maxWaitNanos.compareAndSet(max, wait));
+            try {
+                task.run();
+            } finally {
+                totalRunNanos.addAndGet(System.nanoTime() - started);
+                completed.incrementAndGet();
+            }
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    public long getAverageWaitNanos() {
+        long count = completed.get();
+        return count == 0 ? 0 : totalWaitNanos.get() / count;
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    public long getAverageRunNanos() {
+        long count = completed.get();
+        return count == 0 ? 0 : totalRunNanos.get() / count;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return name + ": " + getActiveCount() + "/" + getPoolSize() + " active, " + getQueueDepth() + " queued, "
+            + completed.get() + " done, wait avg " + getAverageWaitNanos() / 1000 + " us max "
+            + maxWaitNanos.get() / 1000 + " us, run avg " + getAverageRunNanos() / 1000 + " us";
+    }
+}
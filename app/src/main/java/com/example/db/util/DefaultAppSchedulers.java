@@ -0,0 +1,60 @@
+package com.example.db.util;
+
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+// Three bounded pools in place of the unbounded Schedulers.io(): a burst of search typing now
+// queues on a few I/O threads instead of spawning one thread per request
+@Singleton
+public class DefaultAppSchedulers implements AppSchedulers {
+    // Above OkHttp's five concurrent calls per host, leaving room for blocking database reads
+    private static final int IO_THREADS = 6;
+
+    private final BoundedPool ioPool;
+    private final BoundedPool writePool;
+    private final BoundedPool computePool;
+    private final Scheduler io;
+    private final Scheduler databaseWrite;
+    private final Scheduler computation;
+
+    @Inject
+    public DefaultAppSchedulers() {
+        ioPool = new BoundedPool("app-io", IO_THREADS);
+        writePool = new BoundedPool("app-db-write", 1);
+        // One core stays free for the UI and render threads
+        computePool = new BoundedPool("app-compute", Math.max(2, Runtime.getRuntime().availableProcessors() - 1));
+        io = Schedulers.from(ioPool);
+        databaseWrite = Schedulers.from(writePool);
+        computation = Schedulers.from(computePool);
+    }
+
+    @Override
+    public Scheduler io() {
+        return io;
+    }
+
+    @Override
+    public Scheduler databaseWrite() {
+        return databaseWrite;
+    }
+
+    @Override
+    public Scheduler computation() {
+        return computation;
+    }
+
+    @Override
+    public Scheduler main() {
+        return AndroidSchedulers.mainThread();
+    }
+
+    public List<BoundedPool> getPools() {
+        return Collections.unmodifiableList(Arrays.asList(ioPool, writePool, computePool));
+    }
+}
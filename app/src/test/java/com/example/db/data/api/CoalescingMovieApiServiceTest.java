@@ -0,0 +1,129 @@
+package com.example.db.data.api;
+
+import com.example.db.data.api.json.TmdbJson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava3.RxJava3CallAdapterFactory;
+
+import static org.junit.Assert.*;
+
+public class CoalescingMovieApiServiceTest {
+    private static final String PAGE = "{\"page\":1,\"results\":[],\"total_pages\":1,\"total_results\":0}";
+
+    private MockWebServer server;
+    private RequestCoalescer coalescer;
+    private MovieApiService api;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        Retrofit retrofit = new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(TmdbJson.converterFactory())
+            .addCallAdapterFactory(RxJava3CallAdapterFactory.create())
+            .build();
+        coalescer = new RequestCoalescer(200);
+        api = new CoalescingMovieApiService(retrofit.create(MovieApiService.class), coalescer);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void concurrentIdenticalRequests_shareOneUpstreamCall() {
+        server.enqueue(new MockResponse().setBody(PAGE).setBodyDelay(300, TimeUnit.MILLISECONDS));
+
+        List<Single<MovieEntityPage>> calls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            calls.add(api.getTrendingMovies("en-US", 1).subscribeOn(Schedulers.io()));
+        }
+        List<MovieEntityPage> responses = Single.merge(calls).toList().blockingGet();
+
+        assertEquals(3, responses.size());
+        assertEquals(1, server.getRequestCount());
+        assertEquals(2, coalescer.getCoalescedHits());
+    }
+
+    @Test
+    public void differentParameters_areNotCoalesced() {
+        server.enqueue(new MockResponse().setBody(PAGE));
+        server.enqueue(new MockResponse().setBody(PAGE));
+
+        api.getTrendingMovies("en-US", 1).blockingGet();
+        api.getTrendingMovies("en-US", 2).blockingGet();
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals(0, coalescer.getCoalescedHits());
+    }
+
+    @Test
+    public void resultIsReplayedOnlyWithinMemoWindow() throws Exception {
+        server.enqueue(new MockResponse().setBody(PAGE));
+        server.enqueue(new MockResponse().setBody(PAGE));
+
+        api.getNowPlayingMovies("en-US", 1).blockingGet();
+        api.getNowPlayingMovies("en-US", 1).blockingGet();
+        assertEquals(1, server.getRequestCount());
+
+        Thread.sleep(300);
+        api.getNowPlayingMovies("en-US", 1).blockingGet();
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void refreshSkipsTheMemo() {
+        server.enqueue(new MockResponse().setBody(PAGE));
+        server.enqueue(new MockResponse().setBody(PAGE));
+        server.enqueue(new MockResponse().setBody(PAGE));
+
+        api.getNowPlayingMovies("en-US", 1).blockingGet();
+        api.refreshNowPlayingMovies("en-US", 1).blockingGet();
+        api.refreshNowPlayingMovies("en-US", 1).blockingGet();
+
+        assertEquals(3, server.getRequestCount());
+        assertEquals(0, coalescer.getCoalescedHits());
+    }
+
+    @Test
+    public void abandonedRequest_isCancelledAndNotShared() throws Exception {
+        server.enqueue(new MockResponse().setBody(PAGE).setHeadersDelay(2, TimeUnit.SECONDS));
+        server.enqueue(new MockResponse().setBody(PAGE));
+
+        Disposable first = api.getTrendingMovies("en-US", 1).subscribeOn(Schedulers.io()).subscribe(page -> { }, error -> { });
+        assertNotNull(server.takeRequest(1, TimeUnit.SECONDS));
+        first.dispose();
+
+        // A later caller starts over instead of joining the cancelled call
+        assertNotNull(api.getTrendingMovies("en-US", 1).timeout(1, TimeUnit.SECONDS).blockingGet());
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, coalescer.getAbandonedCalls());
+        assertEquals(0, coalescer.getCoalescedHits());
+    }
+
+    @Test
+    public void failuresAreNotMemoized() {
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setBody(PAGE));
+
+        assertNotNull(api.getTrendingMovies("en-US", 1).onErrorReturnItem(new MovieEntityPage(0, null, 0, 0)).blockingGet());
+        api.getTrendingMovies("en-US", 1).blockingGet();
+
+        assertEquals(2, server.getRequestCount());
+    }
+}
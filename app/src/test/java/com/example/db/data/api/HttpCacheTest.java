@@ -0,0 +1,162 @@
+package com.example.db.data.api;
+
+import com.example.db.data.cache.CacheEndpoint;
+import com.example.db.data.cache.CachePolicies;
+import com.example.db.data.cache.CachePolicy;
+import com.example.db.data.api.json.TmdbJson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava3.RxJava3CallAdapterFactory;
+
+import static org.junit.Assert.*;
+
+public class HttpCacheTest {
+    private static final String BODY = "{\"page\":1,\"results\":[],\"total_pages\":1,\"total_results\":0}";
+
+    @Rule
+    public TemporaryFolder cacheDir = new TemporaryFolder();
+
+    private MockWebServer server;
+    private Cache cache;
+    private HttpCacheMetrics metrics;
+    private OfflineCacheInterceptor offlineInterceptor;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        cache = new Cache(cacheDir.newFolder("http"), 1024 * 1024);
+        metrics = new HttpCacheMetrics();
+        offlineInterceptor = new OfflineCacheInterceptor(() -> true, 7, TimeUnit.DAYS);
+        // Trending stays fresh for an hour; now playing goes stale at once so it always revalidates
+        CachePolicies policies = new CachePolicies.Builder()
+            .put(CacheEndpoint.TRENDING, CachePolicy.of(1, 24, TimeUnit.HOURS))
+            .put(CacheEndpoint.NOW_PLAYING, CachePolicy.of(0, 24, TimeUnit.HOURS))
+            .put(CacheEndpoint.SEARCH, CachePolicy.of(15, 60, TimeUnit.MINUTES))
+            .put(CacheEndpoint.DETAILS, CachePolicy.of(24, 48, TimeUnit.HOURS))
+            .build();
+        client = new OkHttpClient.Builder()
+            .cache(cache)
+            .addInterceptor(metrics)
+            .addInterceptor(offlineInterceptor)
+            .addNetworkInterceptor(new CacheControlInterceptor(policies))
+            .build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cache.delete();
+        server.shutdown();
+    }
+
+    @Test
+    public void conservativeHeadersAreExtendedToThePolicyTtl() throws IOException {
+        server.enqueue(new MockResponse().setBody(BODY).setHeader("Cache-Control", "no-cache"));
+
+        assertEquals(BODY, get("/3/trending/movie/day"));
+        assertEquals(BODY, get("/3/trending/movie/day"));
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, metrics.getMisses());
+        assertEquals(1, metrics.getHits());
+    }
+
+    @Test
+    public void refreshReachesTheServerWithinTheTtl() throws Exception {
+        server.enqueue(new MockResponse().setBody(BODY).setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setBody(BODY).setHeader("ETag", "\"v2\""));
+        MovieApiService api = new Retrofit.Builder()
+            .baseUrl(server.url("/3/"))
+            .client(client)
+            .addConverterFactory(TmdbJson.converterFactory())
+            .addCallAdapterFactory(RxJava3CallAdapterFactory.create())
+            .build()
+            .create(MovieApiService.class);
+
+        api.getTrendingMovies("en-US", 1).blockingGet();
+        // Still fresh for an hour; a plain load would be a cache hit
+        api.refreshTrendingMovies("en-US", 1).blockingGet();
+
+        assertEquals(2, server.getRequestCount());
+        server.takeRequest();
+        assertEquals("\"v1\"", server.takeRequest().getHeader("If-None-Match"));
+        assertEquals(0, metrics.getHits());
+    }
+
+    @Test
+    public void staleEntriesRevalidateWithETag() throws Exception {
+        server.enqueue(new MockResponse().setBody(BODY).setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\""));
+
+        assertEquals(BODY, get("/3/movie/now_playing"));
+        assertEquals(BODY, get("/3/movie/now_playing"));
+
+        server.takeRequest();
+        RecordedRequest revalidation = server.takeRequest();
+        assertEquals("\"v1\"", revalidation.getHeader("If-None-Match"));
+        assertEquals(1, metrics.getConditionalHits());
+        assertEquals(1, metrics.getMisses());
+    }
+
+    @Test
+    public void unmatchedEndpointsKeepServerHeaders() throws IOException {
+        server.enqueue(new MockResponse().setBody(BODY).setHeader("Cache-Control", "no-store"));
+        server.enqueue(new MockResponse().setBody(BODY).setHeader("Cache-Control", "no-store"));
+
+        get("/3/genre/movie/list");
+        get("/3/genre/movie/list");
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals(0, metrics.getHits());
+    }
+
+    @Test
+    public void forcedOfflineServesStaleCache() throws IOException {
+        server.enqueue(new MockResponse().setBody(BODY));
+        get("/3/movie/now_playing");
+
+        offlineInterceptor.setForcedOffline(true);
+        assertEquals(BODY, get("/3/movie/now_playing"));
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, metrics.getHits());
+    }
+
+    @Test
+    public void forcedOfflineWithoutCacheFails() throws IOException {
+        offlineInterceptor.setForcedOffline(true);
+
+        try (Response response = client.newCall(request("/3/search/movie")).execute()) {
+            assertEquals(504, response.code());
+        }
+        assertEquals(0, server.getRequestCount());
+    }
+
+    private String get(String path) throws IOException {
+        try (Response response = client.newCall(request(path)).execute()) {
+            assertTrue(response.isSuccessful());
+            return response.body().string();
+        }
+    }
+
+    private Request request(String path) {
+        return new Request.Builder().url(server.url(path)).build();
+    }
+}
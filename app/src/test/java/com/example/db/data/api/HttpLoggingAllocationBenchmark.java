@@ -0,0 +1,89 @@
+package com.example.db.data.api;
+
+import com.example.db.util.Benchmarks;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.logging.HttpLoggingInterceptor;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+// Measures bytes allocated on the calling thread per response with and without BODY logging,
+// the difference release builds no longer pay since the logger is only installed in debug.
+// Synchronous calls run the interceptors on the calling thread, so its counter sees them.
+public class HttpLoggingAllocationBenchmark {
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 200;
+
+    private MockWebServer server;
+    private String body;
+
+    @Before
+    public void setUp() throws Exception {
+        Benchmarks.assumeEnabled();
+        server = new MockWebServer();
+        server.start();
+        // Roughly the size of a full TMDB search page
+        StringBuilder results = new StringBuilder("{\"page\":1,\"results\":[");
+        for (int i = 0; i < 20; i++) {
+            if (i > 0) {
+                results.append(',');
+            }
+            results.append("{\"id\":").append(i).append(",\"title\":\"Movie ").append(i)
+                .append("\",\"overview\":\"").append(new String(new char[600]).replace('\0', 'x')).append("\"}");
+        }
+        body = results.append("],\"total_pages\":1,\"total_results\":20}").toString();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (server != null) {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void bodyLoggingAllocatesMorePerResponse() throws IOException {
+        HttpLoggingInterceptor bodyLogging = new HttpLoggingInterceptor(message -> { });
+        bodyLogging.setLevel(HttpLoggingInterceptor.Level.BODY);
+
+        long plain = bytesPerResponse(new OkHttpClient());
+        long logged = bytesPerResponse(new OkHttpClient.Builder().addInterceptor(bodyLogging).build());
+
+        System.out.println("Allocated per response: no logging " + plain + " B, BODY logging " + logged
+            + " B (+" + (logged - plain) + " B, body " + body.length() + " B)");
+        // BODY logging copies the whole body into a log line on top of the normal read
+        assertTrue(logged - plain > body.length());
+    }
+
+    private long bytesPerResponse(OkHttpClient client) throws IOException {
+        for (int i = 0; i < WARMUP; i++) {
+            fetch(client);
+        }
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            fetch(client);
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+
+    private void fetch(OkHttpClient client) throws IOException {
+        server.enqueue(new MockResponse().setBody(body));
+        try (Response response = client.newCall(new Request.Builder().url(server.url("/3/search/movie")).build()).execute()) {
+            assertEquals(body.length(), response.body().string().length());
+        }
+    }
+}
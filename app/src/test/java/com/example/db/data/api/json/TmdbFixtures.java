@@ -0,0 +1,27 @@
+package com.example.db.data.api.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+public final class TmdbFixtures {
+
+    private TmdbFixtures() {
+    }
+
+    public static String load(String name) throws IOException {
+        try (InputStream in = TmdbFixtures.class.getClassLoader().getResourceAsStream("tmdb/" + name)) {
+            if (in == null) {
+                throw new IOException("Missing fixture " + name);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
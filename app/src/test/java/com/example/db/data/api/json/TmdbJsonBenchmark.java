@@ -0,0 +1,70 @@
+package com.example.db.data.api.json;
+
+import com.example.db.data.model.MovieResponse;
+import com.example.db.util.Benchmarks;
+import com.google.gson.Gson;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+// Compares the streaming adapters with Gson's reflective defaults on a recorded page:
+// decode throughput and bytes allocated on the calling thread per decode
+public class TmdbJsonBenchmark {
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 5_000;
+
+    @Before
+    public void setUp() {
+        Benchmarks.assumeEnabled();
+    }
+
+    @Test
+    public void compareWithReflectiveGson() throws Exception {
+        String json = TmdbFixtures.load("trending_page.json");
+
+        Result reflective = measure(new Gson(), json);
+        Result streaming = measure(TmdbJson.gson(), json);
+
+        System.out.println("Reflective Gson: " + reflective);
+        System.out.println("Streaming adapters: " + streaming);
+        assertTrue(streaming.bytesPerDecode > 0 && reflective.bytesPerDecode > 0);
+    }
+
+    private static Result measure(Gson gson, String json) {
+        int results = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            results += gson.fromJson(json, MovieResponse.class).getResults().size();
+        }
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            results += gson.fromJson(json, MovieResponse.class).getResults().size();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+        assertEquals((WARMUP + ITERATIONS) * 20, results);
+        return new Result(ITERATIONS * 1_000_000_000L / elapsedNanos, bytes / ITERATIONS);
+    }
+
+    private static class Result {
+        final long decodesPerSecond;
+        final long bytesPerDecode;
+
+        Result(long decodesPerSecond, long bytesPerDecode) {
+            this.decodesPerSecond = decodesPerSecond;
+            this.bytesPerDecode = bytesPerDecode;
+        }
+
+        @Override
+        public String toString() {
+            return decodesPerSecond + " decodes/s, " + bytesPerDecode + " B/decode";
+        }
+    }
+}
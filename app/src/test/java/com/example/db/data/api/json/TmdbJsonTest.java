@@ -0,0 +1,81 @@
+package com.example.db.data.api.json;
+
+import com.example.db.data.api.MovieEntityPage;
+import com.example.db.data.local.MovieEntity;
+import com.example.db.data.local.MovieMapper;
+import com.example.db.data.model.Movie;
+import com.example.db.data.model.MovieResponse;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TmdbJsonTest {
+    private final Gson streaming = TmdbJson.gson();
+    private final Gson reflective = new Gson();
+
+    @Test
+    public void fixtureDecodesLikeTheReflectiveConverter() throws Exception {
+        String json = TmdbFixtures.load("trending_page.json");
+
+        MovieResponse expected = reflective.fromJson(json, MovieResponse.class);
+        MovieResponse actual = streaming.fromJson(json, MovieResponse.class);
+
+        assertEquals(expected.getPage(), actual.getPage());
+        assertEquals(expected.getTotalPages(), actual.getTotalPages());
+        assertEquals(expected.getTotalResults(), actual.getTotalResults());
+        assertEquals(20, actual.getResults().size());
+        // Reflection skips the constructor, so rebuild the expected movies to compute their stamps
+        for (int i = 0; i < actual.getResults().size(); i++) {
+            assertEquals(expected.getResults().get(i).toBuilder().build(), actual.getResults().get(i));
+        }
+    }
+
+    @Test
+    public void entityPageDecodesLikeTheMoviePath() throws Exception {
+        String json = TmdbFixtures.load("trending_page.json");
+
+        List<MovieEntity> expected = new MovieMapper().toEntityList(
+            streaming.fromJson(json, MovieResponse.class).getResults());
+        MovieEntityPage page = streaming.fromJson(json, MovieEntityPage.class);
+
+        assertEquals(1, page.getPage());
+        assertEquals(expected.size(), page.getResults().size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue("result " + i, expected.get(i).hasSameContent(page.getResults().get(i)));
+        }
+    }
+
+    @Test
+    public void nullsAndUnknownFieldsAreHandled() {
+        String json = "{\"id\":7,\"genre_ids\":[1,2],\"poster_path\":null,\"vote_average\":null,"
+            + "\"belongs_to_collection\":{\"parts\":[{\"id\":1}]},\"title\":\"T\"}";
+
+        Movie movie = streaming.fromJson(json, Movie.class);
+
+        assertEquals(7, movie.getId());
+        assertEquals("T", movie.getTitle());
+        assertNull(movie.getPosterPath());
+        assertEquals(0, movie.getVoteAverage(), 0);
+    }
+
+    @Test
+    public void nullResultsStayNull() {
+        MovieResponse response = streaming.fromJson("{\"page\":2,\"results\":null}", MovieResponse.class);
+
+        assertEquals(2, response.getPage());
+        assertNull(response.getResults());
+    }
+
+    @Test
+    public void writtenJsonReadsBack() throws Exception {
+        MovieResponse response = streaming.fromJson(TmdbFixtures.load("trending_page.json"), MovieResponse.class);
+
+        MovieResponse copy = streaming.fromJson(streaming.toJson(response), MovieResponse.class);
+
+        assertEquals(response.getResults(), copy.getResults());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.db.data.images;
+
+import com.example.db.data.model.Movie;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+public class PinnedImageStoreTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private PinnedImageStore store;
+    private Movie movie;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        store = new PinnedImageStore(new File(folder.getRoot(), "pinned"), new OkHttpClient(),
+            server.url("/t/p/").toString());
+        movie = new Movie(7, "Title", "Overview", "/poster.jpg", "/backdrop.jpg", "2024-01-01", 7.5);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void pinDownloadsPosterAndBackdropOnce() throws Exception {
+        server.enqueue(new MockResponse().setBody("poster"));
+        server.enqueue(new MockResponse().setBody("backdrop"));
+
+        store.pin(movie).blockingAwait();
+        store.pin(movie).blockingAwait();
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals("/t/p/w500/poster.jpg", server.takeRequest().getPath());
+        assertEquals("/t/p/w780/backdrop.jpg", server.takeRequest().getPath());
+        assertNotNull(store.fileFor(TmdbImage.poster("/poster.jpg")));
+        assertEquals("backdrop".length(), store.fileFor(TmdbImage.backdrop("/backdrop.jpg")).length());
+    }
+
+    @Test
+    public void failedDownloadLeavesNothingPinned() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        store.pin(movie).test().await().assertError(IOException.class);
+        assertNull(store.fileFor(TmdbImage.poster("/poster.jpg")));
+        assertEquals(0, store.sizeBytes());
+    }
+
+    @Test
+    public void unpinDeletesTheFiles() {
+        server.enqueue(new MockResponse().setBody("poster"));
+        server.enqueue(new MockResponse().setBody("backdrop"));
+        store.pin(movie).blockingAwait();
+
+        store.unpin(movie).blockingAwait();
+
+        assertNull(store.fileFor(TmdbImage.poster("/poster.jpg")));
+        assertNull(store.fileFor(TmdbImage.backdrop("/backdrop.jpg")));
+        assertEquals(0, store.sizeBytes());
+    }
+}
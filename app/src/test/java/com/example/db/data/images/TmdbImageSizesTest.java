@@ -0,0 +1,37 @@
+package com.example.db.data.images;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TmdbImageSizesTest {
+
+    @Test
+    public void picksSmallestPosterBucketThatCoversTheWidth() {
+        assertEquals("w92", TmdbImageSizes.bucketFor(TmdbImage.Kind.POSTER, 1));
+        assertEquals("w185", TmdbImageSizes.bucketFor(TmdbImage.Kind.POSTER, 185));
+        assertEquals("w342", TmdbImageSizes.bucketFor(TmdbImage.Kind.POSTER, 186));
+        assertEquals("w780", TmdbImageSizes.bucketFor(TmdbImage.Kind.POSTER, 540));
+    }
+
+    @Test
+    public void fallsBackToOriginalBeyondTheLargestBucket() {
+        assertEquals("original", TmdbImageSizes.bucketFor(TmdbImage.Kind.POSTER, 781));
+        assertEquals("original", TmdbImageSizes.bucketFor(TmdbImage.Kind.BACKDROP, 1440));
+        // Target.SIZE_ORIGINAL
+        assertEquals("original", TmdbImageSizes.bucketFor(TmdbImage.Kind.POSTER, Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void backdropsUseTheirOwnBuckets() {
+        assertEquals("w300", TmdbImageSizes.bucketFor(TmdbImage.Kind.BACKDROP, 200));
+        assertEquals("w1280", TmdbImageSizes.bucketFor(TmdbImage.Kind.BACKDROP, 1080));
+    }
+
+    @Test
+    public void buildsTheImageUrl() {
+        assertEquals("https://image.tmdb.org/t/p/w185/abc.jpg",
+            TmdbImageSizes.urlFor(TmdbImage.poster("/abc.jpg"), 180));
+        assertNull(TmdbImage.poster(null));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.db.data.local;
+
+import com.example.db.data.api.MovieEntityPage;
+import com.example.db.data.api.json.TmdbJson;
+import com.example.db.data.model.Movie;
+import com.example.db.data.model.MovieResponse;
+import com.example.db.util.Benchmarks;
+import com.google.gson.Gson;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+// Bytes allocated per operation on the old and new data paths:
+// - writing a 20-item feed page: JSON -> Movie -> MovieEntity versus JSON -> MovieEntity
+// - reading a 1,000-item bookmark list: row -> Movie copy versus Room building Movie directly
+public class DataPathAllocationBenchmark {
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 5_000;
+    private static final int BOOKMARKS = 1_000;
+
+    private final Gson gson = TmdbJson.gson();
+    private final MovieMapper mapper = new MovieMapper();
+
+    @Before
+    public void setUp() {
+        Benchmarks.assumeEnabled();
+    }
+
+    @Test
+    public void feedPageWrite() throws IOException {
+        String json = loadFixture("trending_page.json");
+
+        long viaDomain = bytesPerOp(() -> {
+            MovieResponse response = gson.fromJson(json, MovieResponse.class);
+            return mapper.toEntityList(response.getResults()).size();
+        });
+        long direct = bytesPerOp(() -> gson.fromJson(json, MovieEntityPage.class).getResults().size());
+
+        System.out.println("20-item page: via Movie " + viaDomain + " B, direct to MovieEntity " + direct + " B");
+        assertTrue(direct < viaDomain);
+    }
+
+    @Test
+    public void bookmarkListRead() {
+        long withCopy = bytesPerOp(() -> {
+            List<ListRow> rows = new ArrayList<>();
+            for (int i = 0; i < BOOKMARKS; i++) {
+                rows.add(new ListRow(i));
+            }
+            List<Movie> movies = new ArrayList<>();
+            for (ListRow row : rows) {
+                movies.add(new Movie(row.id, row.title, row.overview, row.posterPath, null, null, row.voteAverage, true));
+            }
+            return movies.size();
+        });
+        long direct = bytesPerOp(() -> {
+            List<Movie> movies = new ArrayList<>();
+            for (int i = 0; i < BOOKMARKS; i++) {
+                movies.add(new Movie(i, "Title", "Overview", "/poster.jpg", null, null, 7.5, true));
+            }
+            return movies.size();
+        });
+
+        System.out.println("1,000 bookmarks: row + copy " + withCopy + " B, direct " + direct + " B");
+        assertTrue(direct < withCopy);
+    }
+
+    private interface Op {
+        int run() throws IOException;
+    }
+
+    private static long bytesPerOp(Op op) {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        try {
+            int sink = 0;
+            for (int i = 0; i < WARMUP; i++) {
+                sink += op.run();
+            }
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink += op.run();
+            }
+            long bytes = threads.getThreadAllocatedBytes(threadId) - before;
+            assertTrue(sink > 0);
+            return bytes / ITERATIONS;
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    // Stand-in for the projection rows Room used to build before they were copied into Movie
+    private static class ListRow {
+        final int id;
+        final String title = "Title";
+        final String overview = "Overview";
+        final String posterPath = "/poster.jpg";
+        final double voteAverage = 7.5;
+
+        ListRow(int id) {
+            this.id = id;
+        }
+    }
+
+    private static String loadFixture(String name) throws IOException {
+        try (InputStream in = DataPathAllocationBenchmark.class.getClassLoader().getResourceAsStream("tmdb/" + name)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.db.data.local;
+
+import android.app.Application;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.db.data.model.Movie;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+// Builds a database the way the first release left it, then opens it with the current Room
+// schema. Room validates every table after the migrations run, so a DDL mismatch fails here.
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33, application = Application.class)
+public class DatabaseMigrationsTest {
+    private static final String NAME = "migration-test.db";
+
+    private Context context;
+    private MovieDatabase database;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(NAME);
+    }
+
+    @After
+    public void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+        context.deleteDatabase(NAME);
+    }
+
+    @Test
+    public void upgradeFromFirstReleaseKeepsBookmarksAndFeeds() {
+        try (SQLiteDatabase v1 = SQLiteDatabase.openOrCreateDatabase(context.getDatabasePath(NAME), null)) {
+            v1.execSQL("CREATE TABLE IF NOT EXISTS `movies` (`id` INTEGER NOT NULL, `title` TEXT, `overview` TEXT, "
+                + "`posterPath` TEXT, `backdropPath` TEXT, `releaseDate` TEXT, `voteAverage` REAL NOT NULL, "
+                + "`isBookmarked` INTEGER NOT NULL, `isTrending` INTEGER NOT NULL, PRIMARY KEY(`id`))");
+            v1.execSQL("INSERT INTO movies VALUES (1, 'Arrival', 'Linguist', null, null, null, 7.9, 1, 0)");
+            v1.execSQL("INSERT INTO movies VALUES (2, 'Dune', 'Desert', null, null, null, 7.8, 1, 1)");
+            v1.execSQL("INSERT INTO movies VALUES (3, 'Heat', 'Heist', null, null, null, 8.3, 0, 1)");
+            v1.execSQL("INSERT INTO movies VALUES (4, 'Tenet', 'Time', null, null, null, 7.3, 0, 0)");
+            v1.setVersion(1);
+        }
+
+        database = Room.databaseBuilder(context, MovieDatabase.class, NAME)
+            .addMigrations(DatabaseMigrations.ALL)
+            .allowMainThreadQueries()
+            .build();
+
+        List<Integer> bookmarked = database.bookmarkDao().getBookmarkedIds();
+        Collections.sort(bookmarked);
+        assertEquals(Arrays.asList(1, 2), bookmarked);
+        assertEquals(Arrays.asList(2, 3), feedIds(Feed.TRENDING));
+        // Tenet is only a cached search result, so it must not turn up in Now Playing
+        assertEquals(Collections.emptyList(), feedIds(Feed.NOW_PLAYING));
+        assertNull(database.feedPageKeyDao().getPageKeySync(Feed.NOW_PLAYING.name()));
+
+        // The full-text index covers the migrated rows and keeps following new ones
+        assertEquals(1, search("heist").size());
+        database.movieDao().insertMovieIfAbsent(new MovieEntity(5, "Heist Again", "", null, null, null, 6.0));
+        assertEquals(2, search("heist").size());
+    }
+
+    private List<Movie> search(String query) {
+        List<String> tokens = FtsQuery.tokens(query);
+        return database.movieDao().searchMovies(FtsQuery.match(tokens), FtsQuery.titleMatch(tokens), 10).blockingGet();
+    }
+
+    private List<Integer> feedIds(Feed feed) {
+        List<Integer> ids = new ArrayList<>();
+        try (Cursor cursor = database.query("SELECT movieId FROM feed_entries WHERE feed = ? ORDER BY movieId",
+            new Object[]{feed.name()})) {
+            while (cursor.moveToNext()) {
+                ids.add(cursor.getInt(0));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.db.data.local;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FtsQueryTest {
+    @Test
+    public void tokens_stripsOperatorsAndLowercases() {
+        assertEquals(Arrays.asList("star", "wars", "1977"), FtsQuery.tokens("  \"Star\" WARS: (1977)*"));
+    }
+
+    @Test
+    public void tokens_emptyForBlankQuery() {
+        assertTrue(FtsQuery.tokens("  - ").isEmpty());
+        assertTrue(FtsQuery.tokens(null).isEmpty());
+    }
+
+    @Test
+    public void match_buildsPrefixTerms() {
+        List<String> tokens = Arrays.asList("star", "wa");
+        assertEquals("star* wa*", FtsQuery.match(tokens));
+        assertEquals("title:star* title:wa*", FtsQuery.titleMatch(tokens));
+    }
+}
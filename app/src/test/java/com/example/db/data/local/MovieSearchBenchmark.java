@@ -0,0 +1,130 @@
+package com.example.db.data.local;
+
+import android.app.Application;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.db.data.model.Movie;
+import com.example.db.util.Benchmarks;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+// Offline search latency at 1k, 10k and 50k cached rows: the old path, which loaded every row,
+// mapped it to a Movie and ran a substring check in Java, against SEARCH_MOVIES on movies_fts
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33, application = Application.class)
+public class MovieSearchBenchmark {
+    private static final int[] ROW_COUNTS = {1_000, 10_000, 50_000};
+    private static final int LIMIT = 50;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+    private static final String[] QUERIES = {"star", "night", "dark ki", "return", "blade runner"};
+    private static final String[] WORDS = {
+        "the", "star", "dark", "night", "love", "man", "war", "last", "return", "king", "city", "blade",
+        "runner", "ghost", "house", "girl", "dragon", "summer", "lost", "black", "river", "red", "blue",
+        "story", "secret", "life", "dead", "space", "wild", "paris", "matrix", "dune", "alien", "fire"
+    };
+
+    private MovieDatabase database;
+    private final MovieMapper mapper = new MovieMapper();
+
+    @Before
+    public void setUp() {
+        Benchmarks.assumeEnabled();
+        database = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), MovieDatabase.class)
+            .allowMainThreadQueries()
+            .build();
+    }
+
+    @After
+    public void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @Test
+    public void scanAgainstFullTextIndex() {
+        Random random = new Random(42);
+        int stored = 0;
+        for (int rows : ROW_COUNTS) {
+            List<MovieEntity> batch = new ArrayList<>(rows - stored);
+            for (int id = stored + 1; id <= rows; id++) {
+                batch.add(new MovieEntity(id, text(random, 1 + random.nextInt(4)), text(random, 30), null, null, null,
+                    random.nextInt(100) / 10.0));
+            }
+            database.movieDao().upsertMovies(batch);
+            stored = rows;
+
+            long scanMicros = microsPerQuery(this::scan);
+            long indexMicros = microsPerQuery(this::index);
+            System.out.println(rows + " rows: scan " + scanMicros + " us, FTS " + indexMicros + " us per query");
+            assertTrue(indexMicros < scanMicros);
+        }
+    }
+
+    private long microsPerQuery(Search search) {
+        int found = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            for (String query : QUERIES) {
+                found += search.run(query);
+            }
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            for (String query : QUERIES) {
+                found += search.run(query);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(found > 0);
+        return elapsed / 1000 / (ITERATIONS * QUERIES.length);
+    }
+
+    // What MovieRepository did before the index existed
+    private int scan(String query) {
+        List<MovieEntity> entities = database.movieDao().getAllMovies().blockingFirst();
+        String lowercaseQuery = query.toLowerCase(Locale.ROOT);
+        List<Movie> matches = new ArrayList<>();
+        for (MovieEntity entity : entities) {
+            Movie movie = mapper.fromEntity(entity, false);
+            if (movie.getTitle().toLowerCase(Locale.ROOT).contains(lowercaseQuery)) {
+                matches.add(movie);
+            }
+        }
+        return matches.size();
+    }
+
+    private int index(String query) {
+        List<String> tokens = FtsQuery.tokens(query);
+        return database.movieDao().searchMovies(FtsQuery.match(tokens), FtsQuery.titleMatch(tokens), LIMIT)
+            .blockingGet()
+            .size();
+    }
+
+    private static String text(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private interface Search {
+        int run(String query);
+    }
+}
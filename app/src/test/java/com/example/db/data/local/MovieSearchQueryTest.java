@@ -0,0 +1,156 @@
+package com.example.db.data.local;
+
+import android.app.Application;
+import android.database.Cursor;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.db.data.model.Movie;
+import com.example.db.util.DefaultAppSchedulers;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+// SEARCH_MOVIES against a real in-memory database, and the triggers that keep movies_fts in
+// step with every path that writes or deletes movie rows
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33, application = Application.class)
+public class MovieSearchQueryTest {
+    private MovieDatabase database;
+    private MovieDao movieDao;
+
+    @Before
+    public void setUp() {
+        database = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), MovieDatabase.class)
+            .allowMainThreadQueries()
+            .build();
+        movieDao = database.movieDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void titleHitsRankAboveOverviewHitsThenByRating() {
+        insert(1, "Star Wars", "A long time ago", 5.0);
+        insert(2, "Space Drama", "A star is born", 9.0);
+        insert(3, "Stardust", "A fallen star", 7.0);
+        insert(4, "Unrelated", "Nothing to see", 8.0);
+
+        assertEquals(Arrays.asList(3, 1, 2), search("star", 10));
+    }
+
+    @Test
+    public void everyTokenMustPrefixAWord() {
+        insert(1, "Star Wars", "A long time ago", 5.0);
+        insert(2, "Star Trek", "Space, the final frontier", 6.0);
+
+        assertEquals(Collections.singletonList(1), search("sta wa", 10));
+        assertEquals(Collections.singletonList(2), search("STAR: trek!", 10));
+        assertEquals(Collections.emptyList(), search("wars star trek", 10));
+    }
+
+    @Test
+    public void limitKeepsTheBestRanked() {
+        for (int id = 1; id <= 30; id++) {
+            insert(id, "Movie " + id, "Overview", id / 10.0);
+        }
+
+        assertEquals(Arrays.asList(30, 29, 28, 27, 26), search("movie", 5));
+    }
+
+    @Test
+    public void mergedRewritesReplaceTheOldTerms() {
+        insert(1, "Working Title", "Overview", 5.0);
+
+        new MovieWriter(database).merge(entity(1, "Final Title", "Overview", 5.0), false);
+        new MovieWriter(database).merge(entity(2, "Second Film", "Overview", 5.0), false);
+
+        assertEquals(Collections.emptyList(), indexedIds("working*"));
+        assertEquals(Collections.singletonList(1), search("final", 10));
+        assertEquals(Collections.singletonList(2), search("second", 10));
+    }
+
+    @Test
+    public void deletedRowsLeaveTheIndex() {
+        insert(1, "Deleted Film", "Overview", 5.0);
+        insert(2, "Kept Film", "Overview", 5.0);
+
+        movieDao.deleteMovie(entity(1, "Deleted Film", "Overview", 5.0)).blockingAwait();
+
+        assertEquals(Collections.singletonList(2), indexedIds("film*"));
+    }
+
+    @Test
+    public void evictedRowsLeaveTheIndex() {
+        for (int id = 1; id <= 5; id++) {
+            MovieEntity movie = entity(id, "Cached Film " + id, "Overview", 5.0);
+            movie.setFetchedAt(id);
+            movieDao.insertMovieIfAbsent(movie);
+        }
+        database.bookmarkDao().insertBookmark(new BookmarkEntity(1, 1));
+        DefaultAppSchedulers schedulers = new DefaultAppSchedulers();
+
+        StorageManager manager = new StorageManager(database, new StorageQuota(2, 64L * 1024 * 1024),
+            new MovieWriter(database), new WriteQueue(schedulers), schedulers);
+
+        manager.enforceQuota().blockingGet();
+
+        assertEquals(Arrays.asList(1, 5), indexedIds("cached*"));
+        assertEquals(Arrays.asList(1, 5), search("cached", 10));
+    }
+
+    @Test
+    public void clearingTheCacheEmptiesTheIndexButForBookmarks() {
+        insert(1, "Bookmarked Film", "Overview", 5.0);
+        insert(2, "Other Film", "Overview", 5.0);
+        database.bookmarkDao().insertBookmark(new BookmarkEntity(1, 1));
+
+        movieDao.deleteNonBookmarkedMovies();
+
+        assertEquals(Collections.singletonList(1), indexedIds("film*"));
+    }
+
+    private void insert(int id, String title, String overview, double voteAverage) {
+        movieDao.insertMovieIfAbsent(entity(id, title, overview, voteAverage));
+    }
+
+    private static MovieEntity entity(int id, String title, String overview, double voteAverage) {
+        return new MovieEntity(id, title, overview, null, null, null, voteAverage);
+    }
+
+    private List<Integer> search(String query, int limit) {
+        List<String> tokens = FtsQuery.tokens(query);
+        List<Integer> ids = new ArrayList<>();
+        for (Movie movie : movieDao.searchMovies(FtsQuery.match(tokens), FtsQuery.titleMatch(tokens), limit)
+                .blockingGet()) {
+            ids.add(movie.getId());
+        }
+        return ids;
+    }
+
+    // Reads docids straight from the index, so stale entries show up even though the search
+    // query's join with movies would hide them
+    private List<Integer> indexedIds(String match) {
+        List<Integer> ids = new ArrayList<>();
+        try (Cursor cursor = database.query("SELECT docid FROM movies_fts WHERE movies_fts MATCH ? ORDER BY docid",
+                new Object[] {match})) {
+            while (cursor.moveToNext()) {
+                ids.add(cursor.getInt(0));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.db.data.local;
+
+import android.app.Application;
+import android.database.Cursor;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.db.util.DefaultAppSchedulers;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33, application = Application.class)
+public class StorageManagerTest {
+    private static final long GENEROUS_BYTES = 64L * 1024 * 1024;
+
+    private MovieDatabase database;
+    private MovieWriter writer;
+    private final DefaultAppSchedulers schedulers = new DefaultAppSchedulers();
+
+    @Before
+    public void setUp() {
+        database = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), MovieDatabase.class)
+            .allowMainThreadQueries()
+            .build();
+        writer = new MovieWriter(database);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedDownToTheRowQuota() {
+        // Fetched in id order, so 1 is the oldest; an access makes it the most recently used
+        insertMovies(1, 10);
+        database.storageDao().upsertAccess(Collections.singletonList(new MovieAccessEntity(1, 1_000)));
+
+        StorageReport report = manager(6, GENEROUS_BYTES).enforceQuota().blockingGet();
+
+        assertEquals(4, report.getRowsEvicted());
+        assertEquals(6, report.getRows());
+        assertEquals(Arrays.asList(1, 6, 7, 8, 9, 10), storedIds());
+    }
+
+    @Test
+    public void neverEvictsBookmarkedOrFeedMovies() {
+        insertMovies(1, 10);
+        database.bookmarkDao().insertBookmark(new BookmarkEntity(1, 1));
+        database.bookmarkDao().insertBookmark(new BookmarkEntity(2, 1));
+        database.feedEntryDao().insertEntries(Collections.singletonList(
+            new FeedEntryEntity(Feed.TRENDING.name(), 3, 0, 1)));
+
+        StorageReport report = manager(1, GENEROUS_BYTES).enforceQuota().blockingGet();
+
+        assertEquals(7, report.getRowsEvicted());
+        assertEquals(Arrays.asList(1, 2, 3), storedIds());
+    }
+
+    @Test
+    public void evictsInBatchesAndReportsTotals() {
+        int total = StorageManager.EVICTION_BATCH * 2 + 10;
+        insertMovies(1, total);
+        StorageManager manager = manager(10, GENEROUS_BYTES);
+
+        StorageReport report = manager.maintain().blockingGet();
+
+        assertEquals(total - 10, report.getRowsEvicted());
+        assertEquals(10, database.storageDao().countMovies());
+        assertEquals(total - 10, manager.getRowsEvicted());
+        assertSame(report, manager.getLastReport());
+        assertEquals(0, manager.enforceQuota().blockingGet().getRowsEvicted());
+    }
+
+    @Test
+    public void byteQuotaEvictsEvenUnderTheRowQuota() {
+        insertMovies(1, 500);
+
+        StorageReport report = manager(10_000, 1).enforceQuota().blockingGet();
+
+        assertEquals(500, report.getRowsEvicted());
+    }
+
+    @Test
+    public void recordedAccessSurvivesEviction() {
+        insertMovies(1, 3);
+        StorageManager manager = manager(1, GENEROUS_BYTES);
+        manager.recordAccess(Collections.singletonList(1));
+        manager.flushAccess();
+
+        manager.enforceQuota().blockingGet();
+
+        assertEquals(Collections.singletonList(1), storedIds());
+    }
+
+    @Test
+    public void listenersHearWhichRowsWereEvicted() {
+        insertMovies(1, 5);
+        database.bookmarkDao().insertBookmark(new BookmarkEntity(2, 1));
+        List<Integer> removed = new ArrayList<>();
+        writer.addListener(new MovieWriter.Listener() {
+            @Override
+            public void onMoviesWritten(List<MovieEntity> movies) {
+            }
+
+            @Override
+            public void onMoviesRemoved(List<Integer> movieIds) {
+                removed.addAll(movieIds);
+            }
+        });
+
+        manager(2, GENEROUS_BYTES).enforceQuota().blockingGet();
+
+        Collections.sort(removed);
+        assertEquals(Arrays.asList(1, 3, 4), removed);
+    }
+
+    private StorageManager manager(int maxRows, long maxBytes) {
+        return new StorageManager(database, new StorageQuota(maxRows, maxBytes), writer,
+            new WriteQueue(schedulers), schedulers);
+    }
+
+    private void insertMovies(int first, int last) {
+        for (int id = first; id <= last; id++) {
+            MovieEntity movie = new MovieEntity(id, "Movie " + id, "Overview", null, null, null, 5.0);
+            movie.setFetchedAt(id);
+            database.movieDao().insertMovieIfAbsent(movie);
+        }
+    }
+
+    private List<Integer> storedIds() {
+        List<Integer> ids = new ArrayList<>();
+        try (Cursor cursor = database.query("SELECT id FROM movies ORDER BY id", null)) {
+            while (cursor.moveToNext()) {
+                ids.add(cursor.getInt(0));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.db.data.local;
+
+import com.example.db.util.TestAppSchedulers;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+
+import static org.junit.Assert.*;
+
+public class WriteQueueTest {
+    private TestScheduler scheduler;
+    private WriteQueue queue;
+
+    @Before
+    public void setUp() {
+        scheduler = new TestScheduler();
+        queue = new WriteQueue(new TestAppSchedulers(scheduler));
+    }
+
+    @Test
+    public void writesStayPendingUntilTheWriterRuns() {
+        AtomicInteger writes = new AtomicInteger();
+        queue.enqueue("first", Completable.fromAction(writes::incrementAndGet));
+        queue.enqueue("second", Completable.fromAction(writes::incrementAndGet));
+
+        assertEquals(2, queue.getPending());
+        assertEquals(0, writes.get());
+
+        scheduler.triggerActions();
+
+        assertEquals(2, writes.get());
+        assertEquals(0, queue.getPending());
+        assertEquals(2, queue.getCompleted());
+    }
+
+    @Test
+    public void failedWriteIsCountedAndReleased() {
+        queue.enqueue("broken", Completable.error(new IOException("disk full")));
+        scheduler.triggerActions();
+
+        assertEquals(0, queue.getPending());
+        assertEquals(0, queue.getCompleted());
+        assertEquals(1, queue.getFailed());
+    }
+
+    @Test
+    public void cancelAllDropsWritesThatHaveNotRun() {
+        AtomicInteger writes = new AtomicInteger();
+        queue.enqueue("dropped", Completable.fromAction(writes::incrementAndGet));
+
+        queue.cancelAll();
+        scheduler.triggerActions();
+
+        assertEquals(0, writes.get());
+        assertEquals(0, queue.getPending());
+    }
+}
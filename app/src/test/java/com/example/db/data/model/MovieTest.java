@@ -0,0 +1,49 @@
+package com.example.db.data.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MovieTest {
+    private final Movie movie = new Movie(1, "Title", "Overview", "/p.jpg", "/b.jpg", "2026-01-01", 7.5);
+
+    @Test
+    public void equalContentGivesEqualStampAndHash() {
+        Movie copy = new Movie(1, "Title", "Overview", "/p.jpg", "/b.jpg", "2026-01-01", 7.5);
+
+        assertEquals(movie.getStamp(), copy.getStamp());
+        assertEquals(movie.hashCode(), copy.hashCode());
+        assertEquals(movie, copy);
+    }
+
+    @Test
+    public void anyContentChangeChangesStamp() {
+        assertNotEquals(movie.getStamp(), movie.toBuilder().setOverview("Overview.").build().getStamp());
+        assertNotEquals(movie.getStamp(), movie.toBuilder().setVoteAverage(7.6).build().getStamp());
+        assertNotEquals(movie.getStamp(), movie.toBuilder().setBackdropPath(null).build().getStamp());
+        // Field boundaries count: moving a character between adjacent fields is a change
+        assertNotEquals(
+            new Movie(1, "ab", "c", null, null, null, 0).getStamp(),
+            new Movie(1, "a", "bc", null, null, null, 0).getStamp());
+    }
+
+    @Test
+    public void bookmarkToggleCopiesAndKeepsStamp() {
+        Movie bookmarked = movie.withBookmarked(true);
+
+        assertNotSame(movie, bookmarked);
+        assertFalse(movie.isBookmarked());
+        assertTrue(bookmarked.isBookmarked());
+        assertTrue(movie.hasSameContent(bookmarked));
+        assertNotEquals(movie, bookmarked);
+        assertSame(bookmarked, bookmarked.withBookmarked(true));
+    }
+
+    @Test
+    public void builderRoundTripsAllFields() {
+        Movie rebuilt = movie.withBookmarked(true).toBuilder().build();
+
+        assertEquals(movie.withBookmarked(true), rebuilt);
+        assertEquals(movie.getStamp(), rebuilt.getStamp());
+    }
+}
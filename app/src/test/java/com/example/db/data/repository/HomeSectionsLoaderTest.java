@@ -0,0 +1,168 @@
+package com.example.db.data.repository;
+
+import com.example.db.data.api.MovieApiService;
+import com.example.db.data.api.MovieEntityPage;
+import com.example.db.data.local.Feed;
+import com.example.db.data.model.Movie;
+import com.example.db.data.model.MovieResponse;
+import com.example.db.data.paging.FeedSource;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+import static org.junit.Assert.*;
+
+public class HomeSectionsLoaderTest {
+    private static final List<Feed> SECTIONS = Arrays.asList(Feed.TRENDING, Feed.NOW_PLAYING);
+
+    @Test
+    public void sectionsLoadConcurrently() {
+        FakeApi api = new FakeApi(400, 600);
+        HomeSectionsLoader loader = new HomeSectionsLoader(new ApiFeedSource(api, false), Schedulers.io());
+
+        long start = System.nanoTime();
+        List<SectionState> states = loader.load(SECTIONS, true).toList().blockingGet();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Close to max(400, 600), well short of the 1000 ms a serial chain would take
+        assertTrue("took " + elapsedMs + " ms", elapsedMs >= 600 && elapsedMs < 900);
+        assertEquals(4, states.size());
+    }
+
+    @Test
+    public void fasterSectionIsReportedFirst() {
+        FakeApi api = new FakeApi(500, 50);
+        HomeSectionsLoader loader = new HomeSectionsLoader(new ApiFeedSource(api, false), Schedulers.io());
+
+        List<SectionState> ready = new ArrayList<>();
+        for (SectionState state : loader.load(SECTIONS, true).blockingIterable()) {
+            if (state.getStatus() == SectionState.Status.READY) {
+                ready.add(state);
+            }
+        }
+
+        assertEquals(Feed.NOW_PLAYING, ready.get(0).getFeed());
+        assertEquals(Feed.TRENDING, ready.get(1).getFeed());
+    }
+
+    @Test
+    public void failingSectionDoesNotBlockOthers() {
+        FakeApi api = new FakeApi(100, 100);
+        api.failTrending = true;
+        HomeSectionsLoader loader = new HomeSectionsLoader(new ApiFeedSource(api, false), Schedulers.io());
+
+        List<SectionState> states = loader.load(SECTIONS, true).toList().blockingGet();
+
+        assertEquals(SectionState.Status.ERROR, lastStateOf(states, Feed.TRENDING).getStatus());
+        assertEquals(SectionState.Status.READY, lastStateOf(states, Feed.NOW_PLAYING).getStatus());
+    }
+
+    @Test
+    public void freshSectionsSkipTheNetwork() {
+        FakeApi api = new FakeApi(100, 100);
+        HomeSectionsLoader loader = new HomeSectionsLoader(new ApiFeedSource(api, true), Schedulers.io());
+
+        List<SectionState> states = loader.load(SECTIONS, false).toList().blockingGet();
+
+        assertEquals(0, api.calls);
+        assertEquals(2, states.size());
+        for (SectionState state : states) {
+            assertEquals(SectionState.Status.READY, state.getStatus());
+        }
+    }
+
+    private static SectionState lastStateOf(List<SectionState> states, Feed feed) {
+        SectionState last = null;
+        for (SectionState state : states) {
+            if (state.getFeed() == feed) {
+                last = state;
+            }
+        }
+        return last;
+    }
+
+    private static class ApiFeedSource implements FeedSource {
+        private final MovieApiService api;
+        private final boolean fresh;
+
+        ApiFeedSource(MovieApiService api, boolean fresh) {
+            this.api = api;
+            this.fresh = fresh;
+        }
+
+        @Override
+        public Single<Boolean> isFresh(Feed feed) {
+            return Single.just(fresh);
+        }
+
+        @Override
+        public Completable refresh(Feed feed) {
+            return (feed == Feed.TRENDING
+                ? api.getTrendingMovies("en-US", 1)
+                : api.getNowPlayingMovies("en-US", 1)).ignoreElement();
+        }
+    }
+
+    // Blocks the calling thread for a fixed latency, like a synchronous Retrofit call
+    private static class FakeApi implements MovieApiService {
+        private final long trendingLatencyMs;
+        private final long nowPlayingLatencyMs;
+        volatile boolean failTrending;
+        volatile int calls;
+
+        FakeApi(long trendingLatencyMs, long nowPlayingLatencyMs) {
+            this.trendingLatencyMs = trendingLatencyMs;
+            this.nowPlayingLatencyMs = nowPlayingLatencyMs;
+        }
+
+        @Override
+        public Single<MovieEntityPage> getTrendingMovies(String language, int page) {
+            return respond(trendingLatencyMs, failTrending);
+        }
+
+        @Override
+        public Single<MovieEntityPage> getNowPlayingMovies(String language, int page) {
+            return respond(nowPlayingLatencyMs, false);
+        }
+
+        @Override
+        public Single<MovieEntityPage> refreshTrendingMovies(String language, int page) {
+            return getTrendingMovies(language, page);
+        }
+
+        @Override
+        public Single<MovieEntityPage> refreshNowPlayingMovies(String language, int page) {
+            return getNowPlayingMovies(language, page);
+        }
+
+        @Override
+        public Single<MovieResponse> searchMovies(String query, String language, int page, boolean includeAdult) {
+            return Single.error(new UnsupportedOperationException());
+        }
+
+        @Override
+        public Single<Movie> getMovieDetails(int movieId, String language) {
+            return Single.error(new UnsupportedOperationException());
+        }
+
+        private Single<MovieEntityPage> respond(long latencyMs, boolean fail) {
+            return Single.fromCallable(() -> {
+                calls++;
+                Thread.sleep(latencyMs);
+                if (fail) {
+                    throw new IOException("offline");
+                }
+                return new MovieEntityPage(1, new ArrayList<>(), 1, 0);
+            });
+        }
+    }
+}
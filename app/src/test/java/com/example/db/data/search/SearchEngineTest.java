@@ -0,0 +1,261 @@
+package com.example.db.data.search;
+
+import com.example.db.data.api.CoalescingMovieApiService;
+import com.example.db.data.api.MovieApiService;
+import com.example.db.data.api.RequestCoalescer;
+import com.example.db.data.api.json.TmdbJson;
+import com.example.db.data.cache.CacheEndpoint;
+import com.example.db.data.cache.CachePolicies;
+import com.example.db.data.cache.CachePolicy;
+import com.example.db.data.model.Movie;
+import com.example.db.data.model.MovieResponse;
+import com.example.db.util.TestAppSchedulers;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava3.RxJava3CallAdapterFactory;
+
+import static org.junit.Assert.*;
+
+// Runs against the production stack below the repository: Retrofit, the request coalescer and
+// OkHttp, with MockWebServer answering slow queries late
+public class SearchEngineTest {
+    private static final long SLOW_MS = 800;
+
+    private MockWebServer server;
+    private final AtomicInteger cancelledHttpCalls = new AtomicInteger();
+    private final Map<String, List<Movie>> localMatches = new HashMap<>();
+    private RequestCoalescer coalescer;
+    private SearchEngine engine;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String query = request.getRequestUrl().queryParameter("query");
+                if ("broken".equals(query)) {
+                    return new MockResponse().setResponseCode(500);
+                }
+                MockResponse response = new MockResponse().setBody(page(query));
+                // Short queries match more titles and come back last
+                return query.length() < 5 ? response.setHeadersDelay(SLOW_MS, TimeUnit.MILLISECONDS) : response;
+            }
+        });
+        server.start();
+
+        OkHttpClient client = new OkHttpClient.Builder()
+            .eventListener(new EventListener() {
+                @Override
+                public void callFailed(Call call, IOException ioe) {
+                    if (call.isCanceled()) {
+                        cancelledHttpCalls.incrementAndGet();
+                    }
+                }
+            })
+            .build();
+        MovieApiService retrofitApi = new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .client(client)
+            .addConverterFactory(TmdbJson.converterFactory())
+            .addCallAdapterFactory(RxJava3CallAdapterFactory.create())
+            .build()
+            .create(MovieApiService.class);
+        coalescer = new RequestCoalescer(200);
+        MovieApiService api = new CoalescingMovieApiService(retrofitApi, coalescer);
+
+        SearchSource source = new SearchSource() {
+            @Override
+            public Single<MovieResponse> searchRemote(String query, int page) {
+                return api.searchMovies(query, "en-US", page, false);
+            }
+
+            @Override
+            public Single<List<Movie>> searchLocal(String query) {
+                return Single.just(localMatches.getOrDefault(query, Collections.emptyList()));
+            }
+        };
+        CachePolicies policies = new CachePolicies.Builder()
+            .put(CacheEndpoint.SEARCH, CachePolicy.of(15, 60, TimeUnit.MINUTES))
+            .build();
+        engine = new SearchEngine(source, policies, new TestAppSchedulers(Schedulers.io()));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void slowerEarlierQueryIsCancelledAndNeverEmitted() throws Exception {
+        PublishSubject<String> queries = PublishSubject.create();
+        TestObserver<SearchResult> results = engine.latest(queries).test();
+
+        queries.onNext("bla");
+        assertNotNull(server.takeRequest(1, TimeUnit.SECONDS));
+        queries.onNext("blade");
+
+        results.awaitCount(1);
+        // Long enough for the superseded response to have arrived had it not been cancelled
+        Thread.sleep(SLOW_MS + 200);
+
+        results.assertValueCount(1);
+        assertEquals("blade", results.values().get(0).getQuery());
+        assertEquals("blade", results.values().get(0).getMovies().get(0).getTitle());
+        assertEquals(1, engine.getCancelledCalls());
+        assertEquals(1, cancelledHttpCalls.get());
+        assertEquals(1, coalescer.getAbandonedCalls());
+    }
+
+    @Test
+    public void clearingTheQueryCancelsTheSearchInFlight() throws Exception {
+        PublishSubject<String> queries = PublishSubject.create();
+        TestObserver<SearchResult> results = engine.latest(queries).test();
+
+        queries.onNext("bla");
+        assertNotNull(server.takeRequest(1, TimeUnit.SECONDS));
+        queries.onNext("");
+
+        Thread.sleep(SLOW_MS + 200);
+
+        results.assertNoValues();
+        results.assertNotComplete();
+        assertEquals(1, engine.getCancelledCalls());
+        assertEquals(1, cancelledHttpCalls.get());
+    }
+
+    @Test
+    public void burstOfKeystrokesLeavesOnlyTheLastCallRunning() throws Exception {
+        PublishSubject<String> queries = PublishSubject.create();
+        TestObserver<SearchResult> results = engine.latest(queries).test();
+
+        for (String query : new String[] {"t", "te", "ter", "term"}) {
+            queries.onNext(query);
+            assertNotNull(server.takeRequest(1, TimeUnit.SECONDS));
+        }
+        queries.onNext("terminator");
+
+        results.awaitCount(1);
+        Thread.sleep(SLOW_MS + 200);
+
+        results.assertValueCount(1);
+        assertEquals("terminator", results.values().get(0).getQuery());
+        assertEquals(5, engine.getNetworkCalls());
+        assertEquals(4, engine.getCancelledCalls());
+        assertEquals(4, cancelledHttpCalls.get());
+    }
+
+    @Test
+    public void retypedQueryIsServedFromMemory() {
+        engine.search("blade", 1).blockingGet();
+        engine.search("blad", 1).timeout(2, TimeUnit.SECONDS).blockingGet();
+        MovieResponse retyped = engine.search("  Blade ", 1).blockingGet();
+
+        assertEquals("blade", retyped.getResults().get(0).getTitle());
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, engine.getCacheHits());
+    }
+
+    @Test
+    public void localMatchesShowFirstAndKeepTheirPlaces() {
+        Movie cached = movie(100, "Blade Runner", true);
+        Movie stale = movie(3, "bla (old title)", true);
+        localMatches.put("bla", Arrays.asList(cached, stale));
+        TestObserver<SearchResult> results = engine.latest(Observable.just("bla")).test();
+
+        // Well before the slow network page
+        results.awaitCount(1);
+        results.assertValueCount(1);
+        SearchResult local = results.values().get(0);
+        assertEquals(SearchResult.Source.LOCAL, local.getSource());
+        assertFalse(local.isComplete());
+        assertEquals(Arrays.asList(cached, stale), local.getMovies());
+
+        results.awaitCount(2);
+        SearchResult merged = results.values().get(1);
+        assertEquals(SearchResult.Source.REMOTE, merged.getSource());
+        assertTrue(merged.isComplete());
+        assertEquals(2, merged.getLocalCount());
+        assertEquals(100, merged.getMovies().get(0).getId());
+        // Network title, database bookmark
+        assertEquals("bla", merged.getMovies().get(1).getTitle());
+        assertTrue(merged.getMovies().get(1).isBookmarked());
+        assertEquals(2, merged.getMovies().size());
+        assertTrue(merged.isAnsweredLocally());
+        assertEquals(1, engine.getLocalFirst());
+        assertEquals(1, engine.getAnsweredLocally());
+    }
+
+    @Test
+    public void networkOnlyMatchesAreAppendedAfterLocalOnes() {
+        localMatches.put("bla", Collections.singletonList(movie(100, "Blade Runner", false)));
+        TestObserver<SearchResult> results = engine.latest(Observable.just("bla")).test();
+
+        results.awaitCount(2);
+        SearchResult merged = results.values().get(1);
+        assertEquals(1, merged.getLocalCount());
+        assertEquals(100, merged.getMovies().get(0).getId());
+        assertEquals(3, merged.getMovies().get(1).getId());
+        assertFalse(merged.isAnsweredLocally());
+    }
+
+    @Test
+    public void networkFailureSettlesOnLocalMatches() {
+        localMatches.put("broken", Collections.singletonList(movie(200, "Broken Arrow", false)));
+        TestObserver<SearchResult> results = engine.latest(Observable.just("broken")).test();
+
+        results.awaitDone(5, TimeUnit.SECONDS);
+        SearchResult last = results.values().get(results.values().size() - 1);
+        assertTrue(last.isComplete());
+        assertEquals(SearchResult.Source.LOCAL, last.getSource());
+        assertEquals(200, last.getMovies().get(0).getId());
+    }
+
+    @Test
+    public void blankQueryCancelsTheSearchInFlight() throws Exception {
+        PublishSubject<String> queries = PublishSubject.create();
+        TestObserver<SearchResult> results = engine.latest(queries).test();
+
+        queries.onNext("bla");
+        assertNotNull(server.takeRequest(1, TimeUnit.SECONDS));
+        queries.onNext("   ");
+        Thread.sleep(SLOW_MS + 200);
+
+        results.assertNoValues();
+        assertEquals(1, engine.getCancelledCalls());
+    }
+
+    private static Movie movie(int id, String title, boolean bookmarked) {
+        return new Movie(id, title, "", null, null, null, 7.0, bookmarked);
+    }
+
+    private static String page(String query) {
+        return "{\"page\":1,\"results\":[{\"id\":" + query.length() + ",\"title\":\"" + query + "\"}],"
+            + "\"total_pages\":1,\"total_results\":1}";
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.db.data.search;
+
+import com.example.db.data.local.TitleRow;
+import com.example.db.util.Benchmarks;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+// Build time for 50k synthetic titles, in one batch and in feed-page batches as MovieWriter
+// delivers them, then per-keystroke lookup latency and the index's estimated footprint
+public class TitleIndexBenchmark {
+    private static final int TITLES = 50_000;
+    private static final int PAGE = 20;
+    private static final int LOOKUPS = 20_000;
+    private static final String[] WORDS = {
+        "the", "star", "dark", "night", "love", "man", "war", "last", "return", "king", "city", "blade",
+        "runner", "ghost", "house", "girl", "dragon", "summer", "lost", "black", "river", "red", "blue",
+        "story", "secret", "life", "dead", "space", "wild", "paris", "amélie", "matrix", "dune", "alien",
+        "fire", "ice", "storm", "heart", "shadow", "empire", "legend", "zero", "one", "two", "three"
+    };
+
+    @Before
+    public void setUp() {
+        Benchmarks.assumeEnabled();
+    }
+
+    @Test
+    public void buildAndLookup() {
+        Random random = new Random(42);
+        List<TitleRow> rows = new ArrayList<>(TITLES);
+        for (int i = 0; i < TITLES; i++) {
+            rows.add(new TitleRow(i + 1, title(random), random.nextInt(100) / 10.0));
+        }
+
+        // Warm up the JIT on a smaller index first
+        TitleIndex.empty(TITLES).plus(rows.subList(0, 5_000)).lookup("st", 8);
+
+        long start = System.nanoTime();
+        TitleIndex whole = TitleIndex.empty(TITLES).plus(rows);
+        long wholeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        start = System.nanoTime();
+        TitleIndex paged = TitleIndex.empty(TITLES);
+        for (int from = 0; from < TITLES; from += PAGE) {
+            paged = paged.plus(rows.subList(from, Math.min(TITLES, from + PAGE)));
+        }
+        long pagedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        String[] prefixes = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            prefixes[i] = word.substring(0, 1 + random.nextInt(Math.min(4, word.length())));
+        }
+        int found = 0;
+        for (String prefix : prefixes) {
+            found += whole.lookup(prefix, 8).size();
+        }
+        long[] nanos = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            long lookupStart = System.nanoTime();
+            found += whole.lookup(prefixes[i], 8).size();
+            nanos[i] = System.nanoTime() - lookupStart;
+        }
+        Arrays.sort(nanos);
+        long total = 0;
+        for (long n : nanos) {
+            total += n;
+        }
+
+        System.out.println("Titles: " + whole.size() + ", keys: " + whole.getKeyCount()
+            + ", ~" + whole.getEstimatedBytes() / 1024 + " KB");
+        System.out.println("Build: " + wholeMs + " ms in one batch, " + pagedMs + " ms in batches of " + PAGE);
+        System.out.println("Lookup: avg " + total / LOOKUPS / 1000 + " us, p50 " + nanos[LOOKUPS / 2] / 1000
+            + " us, p99 " + nanos[LOOKUPS * 99 / 100] / 1000 + " us");
+
+        assertEquals(TITLES, whole.size());
+        assertEquals(whole.getKeyCount(), paged.getKeyCount());
+        assertTrue(found > 0);
+        assertTrue("index grew to " + whole.getEstimatedBytes() + " bytes", whole.getEstimatedBytes() < 16L << 20);
+    }
+
+    private static String title(Random random) {
+        int words = 1 + random.nextInt(4);
+        StringBuilder title = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                title.append(' ');
+            }
+            String word = WORDS[random.nextInt(WORDS.length)];
+            title.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+        }
+        return title.append(' ').append(random.nextInt(1000)).toString();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.db.data.search;
+
+import com.example.db.data.local.TitleRow;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TitleIndexTest {
+    private static final TitleIndex EMPTY = TitleIndex.empty(1_000);
+
+    @Test
+    public void titleStartMatchesRankAboveLaterWords() {
+        TitleIndex index = EMPTY.plus(Arrays.asList(
+            new TitleRow(1, "The Matrix", 8.2),
+            new TitleRow(2, "Matrix Reloaded", 7.0),
+            new TitleRow(3, "Mattress Kings", 5.0),
+            new TitleRow(4, "Alien", 8.1)));
+
+        assertEquals(Arrays.asList(2, 3, 1), ids(index.lookup("mat", 10)));
+        assertEquals(Arrays.asList(2, 1), ids(index.lookup("matr", 10)));
+        assertEquals(Collections.singletonList(1), ids(index.lookup("the m", 10)));
+        assertTrue(index.lookup("atrix", 10).isEmpty());
+    }
+
+    @Test
+    public void equalMatchesRankByRatingAndKeepTopK() {
+        TitleIndex index = EMPTY.plus(Arrays.asList(
+            new TitleRow(1, "Star Trek", 6.0),
+            new TitleRow(2, "Star Wars", 8.5),
+            new TitleRow(3, "Stargate", 7.1),
+            new TitleRow(4, "Stardust", 7.6)));
+
+        assertEquals(Arrays.asList(2, 4), ids(index.lookup("star", 2)));
+    }
+
+    @Test
+    public void foldingIgnoresCaseAccentsAndPunctuation() {
+        TitleIndex index = EMPTY.plus(Collections.singletonList(new TitleRow(1, "Amélie: Le Fabuleux", 7.9)));
+
+        assertEquals("amelie le fabuleux", TitleIndex.fold("  Amélie:  Le Fabuleux!"));
+        assertEquals(1, index.lookup("AME", 5).size());
+        assertEquals(1, index.lookup("amelie le", 5).size());
+        assertEquals(1, index.lookup("fab", 5).size());
+        assertEquals("Amélie: Le Fabuleux", index.lookup("le", 5).get(0).getTitle());
+    }
+
+    @Test
+    public void titleMatchingTwiceIsSuggestedOnce() {
+        TitleIndex index = EMPTY.plus(Collections.singletonList(new TitleRow(1, "Bad Boys Bad Boys", 6.0)));
+
+        assertEquals(1, index.lookup("bad", 5).size());
+    }
+
+    @Test
+    public void rewrittenRowReplacesItsOldTitle() {
+        TitleIndex index = EMPTY.plus(Collections.singletonList(new TitleRow(1, "Untitled Project", 0)))
+            .plus(Collections.singletonList(new TitleRow(1, "Dune", 8.0)));
+
+        assertTrue(index.lookup("untitled", 5).isEmpty());
+        assertEquals(1, index.lookup("dune", 5).size());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void incrementalBatchesMatchOneBuild() {
+        List<TitleRow> rows = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            rows.add(new TitleRow(i, "Movie " + (i * 7919 % 1000) + " Part " + (i % 7), i % 10));
+        }
+        TitleIndex batched = EMPTY;
+        for (int from = 0; from < rows.size(); from += 20) {
+            batched = batched.plus(rows.subList(from, Math.min(rows.size(), from + 20)));
+        }
+        TitleIndex whole = EMPTY.plus(rows);
+
+        for (String prefix : new String[] {"m", "movie 1", "part 3", "p", "movie 99"}) {
+            assertEquals(prefix, ids(whole.lookup(prefix, 8)), ids(batched.lookup(prefix, 8)));
+        }
+        assertEquals(whole.getKeyCount(), batched.getKeyCount());
+    }
+
+    @Test
+    public void removedTitlesAreNoLongerSuggested() {
+        TitleIndex index = EMPTY.plus(Arrays.asList(
+                new TitleRow(1, "Dune", 8.0),
+                new TitleRow(2, "Dune Part Two", 8.3),
+                new TitleRow(3, "Dunkirk", 7.8)))
+            .minus(Arrays.asList(2, 2, 99));
+
+        assertEquals(Arrays.asList(1, 3), ids(index.lookup("dun", 5)));
+        assertTrue(index.lookup("part", 5).isEmpty());
+        assertEquals(2, index.size());
+        assertEquals(2, index.getKeyCount());
+    }
+
+    @Test
+    public void removingThenAddingMatchesOneBuildOfWhatRemains() {
+        List<TitleRow> rows = new ArrayList<>();
+        List<Integer> removed = new ArrayList<>();
+        List<TitleRow> kept = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            TitleRow row = new TitleRow(i, "Movie " + (i * 7919 % 1000) + " Part " + (i % 7), i % 10);
+            rows.add(row);
+            // Enough removals to force a compaction along the way
+            if (i % 3 == 0) {
+                removed.add(i);
+            } else {
+                kept.add(row);
+            }
+        }
+        TitleIndex shrunk = EMPTY.plus(rows).minus(removed)
+            .plus(Collections.singletonList(new TitleRow(1_000, "Movie Extra", 5)));
+        kept.add(new TitleRow(1_000, "Movie Extra", 5));
+        TitleIndex whole = EMPTY.plus(kept);
+
+        for (String prefix : new String[] {"m", "movie 1", "part 3", "p", "extra"}) {
+            assertEquals(prefix, ids(whole.lookup(prefix, 8)), ids(shrunk.lookup(prefix, 8)));
+        }
+        assertEquals(whole.size(), shrunk.size());
+        assertEquals(whole.getKeyCount(), shrunk.getKeyCount());
+    }
+
+    @Test
+    public void pastCapacityLowestRatedTitlesAreDropped() {
+        TitleIndex index = TitleIndex.empty(2).plus(Arrays.asList(
+            new TitleRow(1, "Good", 8.0),
+            new TitleRow(2, "Bad", 2.0),
+            new TitleRow(3, "Fine", 6.0)));
+
+        assertEquals(2, index.size());
+        assertTrue(index.lookup("bad", 5).isEmpty());
+        assertEquals(1, index.lookup("good", 5).size());
+    }
+
+    private static List<Integer> ids(List<TitleSuggestion> suggestions) {
+        List<Integer> ids = new ArrayList<>();
+        for (TitleSuggestion suggestion : suggestions) {
+            ids.add(suggestion.getMovieId());
+        }
+        return ids;
+    }
+}
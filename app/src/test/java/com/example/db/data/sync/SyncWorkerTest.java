@@ -0,0 +1,248 @@
+package com.example.db.data.sync;
+
+import android.app.Application;
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.work.Configuration;
+import androidx.work.ListenableWorker;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+import androidx.work.WorkerFactory;
+import androidx.work.WorkerParameters;
+import androidx.work.testing.SynchronousExecutor;
+import androidx.work.testing.TestDriver;
+import androidx.work.testing.WorkManagerTestInitHelper;
+import com.example.db.data.api.MovieApiService;
+import com.example.db.data.api.json.TmdbFixtures;
+import com.example.db.data.api.json.TmdbJson;
+import com.example.db.data.cache.CacheEndpoint;
+import com.example.db.data.cache.CachePolicies;
+import com.example.db.data.cache.CachePolicy;
+import com.example.db.data.images.PinnedImageStore;
+import com.example.db.data.images.TmdbImage;
+import com.example.db.data.local.BookmarkEntity;
+import com.example.db.data.local.BookmarkIndex;
+import com.example.db.data.local.Feed;
+import com.example.db.data.local.MovieDatabase;
+import com.example.db.data.local.MovieEntity;
+import com.example.db.data.local.MovieMapper;
+import com.example.db.data.local.MovieWriter;
+import com.example.db.data.local.StorageManager;
+import com.example.db.data.local.StorageQuota;
+import com.example.db.data.local.WriteQueue;
+import com.example.db.data.paging.FeedSync;
+import com.example.db.data.repository.MovieRepository;
+import com.example.db.util.DefaultAppSchedulers;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import io.reactivex.rxjava3.core.Completable;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava3.RxJava3CallAdapterFactory;
+
+import static org.junit.Assert.*;
+
+// Drives the scheduled sync through WorkManager's test driver against a MockWebServer TMDB
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33, application = Application.class)
+public class SyncWorkerTest {
+    private static final int BOOKMARKED_ID = 42;
+    private static final String DETAILS = "{\"id\":42,\"title\":\"Bookmarked\",\"overview\":\"Refetched\","
+        + "\"poster_path\":\"/bookmarked.jpg\",\"backdrop_path\":\"/bookmarked_bd.jpg\","
+        + "\"release_date\":\"2020-02-02\",\"vote_average\":8.1}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private volatile boolean failRequests;
+    private MovieDatabase database;
+    private PinnedImageStore pinnedImages;
+    private SyncStatus syncStatus;
+    private List<String> warmed;
+    private List<Boolean> toldInsideTransaction;
+    private WorkManager workManager;
+    private TestDriver testDriver;
+
+    @Before
+    public void setUp() throws Exception {
+        Context context = ApplicationProvider.getApplicationContext();
+        String page = TmdbFixtures.load("trending_page.json");
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) {
+                String path = request.getPath();
+                if (failRequests) {
+                    return new MockResponse().setResponseCode(503);
+                } else if (path.startsWith("/trending/movie/day") || path.startsWith("/movie/now_playing")) {
+                    return new MockResponse().setBody(page);
+                } else if (path.startsWith("/movie/" + BOOKMARKED_ID)) {
+                    return new MockResponse().setBody(DETAILS);
+                } else if (path.startsWith("/t/p/")) {
+                    return new MockResponse().setBody("image");
+                }
+                return new MockResponse().setResponseCode(404);
+            }
+        });
+        server.start();
+
+        MovieApiService api = new Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(TmdbJson.converterFactory())
+            .addCallAdapterFactory(RxJava3CallAdapterFactory.create())
+            .build()
+            .create(MovieApiService.class);
+        CachePolicies policies = new CachePolicies.Builder()
+            .put(CacheEndpoint.TRENDING, CachePolicy.of(1, 24, TimeUnit.HOURS))
+            .put(CacheEndpoint.NOW_PLAYING, CachePolicy.of(1, 24, TimeUnit.HOURS))
+            .put(CacheEndpoint.SEARCH, CachePolicy.of(15, 60, TimeUnit.MINUTES))
+            .put(CacheEndpoint.DETAILS, CachePolicy.of(24, 48, TimeUnit.HOURS))
+            .build();
+        database = Room.inMemoryDatabaseBuilder(context, MovieDatabase.class).build();
+        MovieWriter writer = new MovieWriter(database);
+        toldInsideTransaction = Collections.synchronizedList(new ArrayList<>());
+        writer.addListener(new MovieWriter.Listener() {
+            @Override
+            public void onMoviesWritten(List<MovieEntity> movies) {
+                toldInsideTransaction.add(database.inTransaction());
+            }
+
+            @Override
+            public void onMoviesRemoved(List<Integer> movieIds) {
+            }
+        });
+        // Real pools: Room refuses queries on the Robolectric main thread
+        DefaultAppSchedulers schedulers = new DefaultAppSchedulers();
+        FeedSync feedSync = new FeedSync(() -> api, database, writer, policies, schedulers);
+        pinnedImages = new PinnedImageStore(folder.newFolder("pinned"), new OkHttpClient(),
+            server.url("/t/p/").toString());
+        WriteQueue writeQueue = new WriteQueue(schedulers);
+        StorageManager storageManager = new StorageManager(database, new StorageQuota(5_000, 16L * 1024 * 1024),
+            writer, writeQueue, schedulers);
+        MovieRepository repository = new MovieRepository(() -> api, database, database.movieDao(), database.bookmarkDao(),
+            new BookmarkIndex(database.bookmarkDao(), schedulers),
+            writer, new MovieMapper(), feedSync, policies, pinnedImages, writeQueue, storageManager, schedulers);
+        syncStatus = new SyncStatus(context);
+        warmed = Collections.synchronizedList(new ArrayList<>());
+        ImageWarmer warmer = paths -> Completable.fromAction(() -> warmed.addAll(paths));
+        BackgroundSync backgroundSync = new BackgroundSync(feedSync, repository, database.movieDao(), warmer,
+            storageManager, syncStatus);
+
+        Configuration configuration = new Configuration.Builder()
+            .setMinimumLoggingLevel(Log.DEBUG)
+            .setExecutor(new SynchronousExecutor())
+            .setWorkerFactory(new WorkerFactory() {
+                @Override
+                public ListenableWorker createWorker(@NonNull Context appContext, @NonNull String workerClassName,
+                                                     @NonNull WorkerParameters params) {
+                    return new SyncWorker(appContext, params, backgroundSync);
+                }
+            })
+            .build();
+        WorkManagerTestInitHelper.initializeTestWorkManager(context, configuration);
+        workManager = WorkManager.getInstance(context);
+        testDriver = WorkManagerTestInitHelper.getTestDriver(context);
+
+        // A bookmark whose details were fetched long ago
+        database.movieDao().insertMovieIfAbsent(new MovieEntity(BOOKMARKED_ID, "Old title", "Old", null, null, null, 5.0));
+        database.bookmarkDao().insertBookmark(new BookmarkEntity(BOOKMARKED_ID, 1));
+        new SyncScheduler(context).schedule();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        database.close();
+        server.shutdown();
+    }
+
+    @Test
+    public void syncWaitsForConstraintsThenRefreshesEverything() throws Exception {
+        WorkInfo info = scheduledWork();
+        assertEquals(WorkInfo.State.ENQUEUED, info.getState());
+        assertEquals(0, server.getRequestCount());
+
+        testDriver.setAllConstraintsMet(info.getId());
+        testDriver.setPeriodDelayMet(info.getId());
+        await(() -> syncStatus.getLastSyncMillis() != SyncStatus.NEVER);
+
+        // The fixture page has 20 movies, one of them without a poster
+        assertEquals(19, database.movieDao().getFeedPosterPaths(Feed.TRENDING.name(), 100).size());
+        assertEquals("Bookmarked", database.movieDao().getMovieById(BOOKMARKED_ID).blockingGet().movie.getTitle());
+        assertNotNull(pinnedImages.fileFor(TmdbImage.poster("/bookmarked.jpg")));
+        assertNotNull(pinnedImages.fileFor(TmdbImage.backdrop("/bookmarked_bd.jpg")));
+        assertTrue(warmed.contains("/po0200000.jpg"));
+        // Feed rows reach listeners only after the page's transaction has committed
+        assertFalse(toldInsideTransaction.isEmpty());
+        assertFalse(toldInsideTransaction.contains(true));
+    }
+
+    @Test
+    public void failedSyncIsRetriedWithoutMarkingTheSync() throws Exception {
+        failRequests = true;
+        WorkInfo info = scheduledWork();
+
+        testDriver.setAllConstraintsMet(info.getId());
+        testDriver.setPeriodDelayMet(info.getId());
+        await(() -> workInfo(info).getRunAttemptCount() == 1);
+
+        assertEquals(WorkInfo.State.ENQUEUED, workInfo(info).getState());
+        assertEquals(SyncStatus.NEVER, syncStatus.getLastSyncMillis());
+    }
+
+    @Test
+    public void schedulingAgainKeepsTheExistingWork() throws Exception {
+        WorkInfo first = scheduledWork();
+
+        new SyncScheduler(ApplicationProvider.getApplicationContext()).schedule();
+
+        List<WorkInfo> infos = workManager.getWorkInfosForUniqueWork(SyncScheduler.UNIQUE_WORK).get();
+        assertEquals(1, infos.size());
+        assertEquals(first.getId(), infos.get(0).getId());
+    }
+
+    private WorkInfo scheduledWork() throws Exception {
+        List<WorkInfo> infos = workManager.getWorkInfosForUniqueWork(SyncScheduler.UNIQUE_WORK).get();
+        assertEquals(1, infos.size());
+        return infos.get(0);
+    }
+
+    private WorkInfo workInfo(WorkInfo info) {
+        try {
+            return workManager.getWorkInfoById(info.getId()).get();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    // The sync itself runs on RxJava's io threads, after the worker has returned its Single
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(20);
+        }
+    }
+}
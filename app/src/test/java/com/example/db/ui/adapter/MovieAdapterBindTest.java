@@ -0,0 +1,227 @@
+package com.example.db.ui.adapter;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Looper;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageButton;
+import android.widget.ImageView;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.example.db.R;
+import com.example.db.data.local.BookmarkDao;
+import com.example.db.data.local.BookmarkEntity;
+import com.example.db.data.local.BookmarkIndex;
+import com.example.db.data.model.Movie;
+import com.example.db.util.DefaultAppSchedulers;
+import com.example.db.util.TestAppSchedulers;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+// Counts full binds, partial binds and Glide requests (the request Glide tags on the poster
+// view) across bookmark and rating changes, whether they arrive in a new list or from the
+// bookmark index
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33, application = Application.class)
+public class MovieAdapterBindTest {
+    private static final int ITEMS = 4;
+
+    private RecyclerView recyclerView;
+    private ListDiffService diffService;
+    private BookmarkIndex bookmarks;
+    private CountingAdapter adapter;
+    private List<Movie> clicked;
+    private List<Movie> movies;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        recyclerView = new RecyclerView(new ContextThemeWrapper(activity, R.style.Theme_DB));
+        recyclerView.setLayoutManager(new LinearLayoutManager(activity));
+        activity.setContentView(recyclerView, new ViewGroup.LayoutParams(1080, 10_000));
+
+        diffService = new ListDiffService(new DefaultAppSchedulers());
+        bookmarks = new BookmarkIndex(new EmptyBookmarkDao(), new TestAppSchedulers(Schedulers.trampoline()));
+        clicked = new ArrayList<>();
+        adapter = new CountingAdapter(new MovieAdapter.MovieClickListener() {
+            @Override
+            public void onMovieClick(Movie movie) {
+                clicked.add(movie);
+            }
+
+            @Override
+            public void onBookmarkClick(Movie movie) {
+                clicked.add(movie);
+            }
+        }, bookmarks, diffService.lane("test"));
+        recyclerView.setAdapter(adapter);
+
+        movies = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            movies.add(new Movie(i, "Movie " + i, "Overview " + i, "/p" + i + ".jpg", null, null, 6.0 + i));
+        }
+        submit(movies);
+    }
+
+    @Test
+    public void bookmarkToggleRebindsOnlyTheBookmark() {
+        assertEquals(ITEMS, adapter.fullBinds);
+        Object posterRequest = posterRequest(1);
+        assertNotNull(posterRequest);
+
+        movies.set(1, movies.get(1).withBookmarked(true));
+        submit(movies);
+
+        assertEquals(ITEMS, adapter.fullBinds);
+        assertEquals(1, adapter.partialBinds);
+        assertSame(posterRequest, posterRequest(1));
+        // Rows are not trusted for bookmark state; the button waits for the index
+        assertEquals(View.INVISIBLE, holderAt(1).itemView.findViewById(R.id.bookmarkButton).getVisibility());
+
+        // The listener attached at creation hands out the rebound instance
+        holderAt(1).itemView.<ImageButton>findViewById(R.id.bookmarkButton).performClick();
+        assertTrue(clicked.get(0).isBookmarked());
+    }
+
+    @Test
+    public void indexToggleRebindsOnlyThatBookmark() {
+        bookmarks.load().blockingAwait();
+        shadowOf(Looper.getMainLooper()).idle();
+        int afterLoad = adapter.partialBinds;
+        assertEquals(View.VISIBLE, holderAt(1).itemView.findViewById(R.id.bookmarkButton).getVisibility());
+        Object posterRequest = posterRequest(2);
+
+        // Written through by the repository; the list itself never changes
+        bookmarks.set(2, true);
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertEquals(ITEMS, adapter.fullBinds);
+        assertEquals(afterLoad + 1, adapter.partialBinds);
+        assertSame(posterRequest, posterRequest(2));
+        assertTrue(holderAt(2).itemView.<ImageButton>findViewById(R.id.bookmarkButton).isSelected());
+        assertFalse(holderAt(1).itemView.<ImageButton>findViewById(R.id.bookmarkButton).isSelected());
+    }
+
+    @Test
+    public void ratingChangeRebindsOnlyTheRating() {
+        Object posterRequest = posterRequest(2);
+
+        movies.set(2, movies.get(2).toBuilder().setVoteAverage(9.25).build());
+        submit(movies);
+
+        assertEquals(ITEMS, adapter.fullBinds);
+        assertEquals(1, adapter.partialBinds);
+        assertSame(posterRequest, posterRequest(2));
+        assertEquals("9.3", holderAt(2).itemView.<TextView>findViewById(R.id.ratingText).getText().toString());
+    }
+
+    @Test
+    public void titleChangeFallsBackToAFullBind() {
+        movies.set(3, movies.get(3).toBuilder().setTitle("Renamed").build());
+        submit(movies);
+
+        assertEquals(ITEMS + 1, adapter.fullBinds);
+        assertEquals(0, adapter.partialBinds);
+    }
+
+    @Test
+    public void unchangedListSkipsTheDiff() {
+        DiffMetrics metrics = diffService.metricsFor("test");
+        long diffs = metrics.getDiffs();
+
+        // A fresh copy of the same movies, as Room emits after an unrelated table write
+        List<Movie> copy = new ArrayList<>();
+        for (Movie movie : movies) {
+            copy.add(movie.toBuilder().build());
+        }
+        submit(copy);
+
+        assertEquals(diffs, metrics.getDiffs());
+        assertEquals(1, metrics.getSkipped());
+        assertEquals(ITEMS, adapter.fullBinds);
+        assertEquals(0, adapter.partialBinds);
+    }
+
+    private void submit(List<Movie> list) {
+        boolean[] committed = new boolean[1];
+        adapter.submitList(new ArrayList<>(list), () -> committed[0] = true);
+        // The diff runs on a background thread and commits through the main looper
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!committed[0] && System.currentTimeMillis() < deadline) {
+            shadowOf(Looper.getMainLooper()).idle();
+        }
+        assertTrue("list was not committed", committed[0]);
+        recyclerView.measure(1080, 10_000);
+        recyclerView.layout(0, 0, 1080, 10_000);
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    private RecyclerView.ViewHolder holderAt(int position) {
+        return recyclerView.findViewHolderForAdapterPosition(position);
+    }
+
+    private Object posterRequest(int position) {
+        ImageView poster = holderAt(position).itemView.findViewById(R.id.posterImage);
+        return poster.getTag(com.bumptech.glide.R.id.glide_custom_view_target_tag);
+    }
+
+    private static class EmptyBookmarkDao implements BookmarkDao {
+        @Override
+        public void insertBookmark(BookmarkEntity bookmark) {
+        }
+
+        @Override
+        public void deleteBookmark(int movieId) {
+        }
+
+        @Override
+        public boolean isBookmarked(int movieId) {
+            return false;
+        }
+
+        @Override
+        public List<Integer> getBookmarkedIds() {
+            return Collections.emptyList();
+        }
+    }
+
+    private static class CountingAdapter extends MovieAdapter {
+        int fullBinds;
+        int partialBinds;
+
+        CountingAdapter(MovieClickListener listener, BookmarkIndex bookmarks, ListDiffService.Lane lane) {
+            super(listener, bookmarks, lane);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull MovieViewHolder holder, int position) {
+            fullBinds++;
+            super.onBindViewHolder(holder, position);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull MovieViewHolder holder, int position, @NonNull List<Object> payloads) {
+            if (MovieViewHolder.changesOf(payloads) != MovieViewHolder.FULL_BIND) {
+                partialBinds++;
+            }
+            super.onBindViewHolder(holder, position, payloads);
+        }
+    }
+}
\ No newline at end of file
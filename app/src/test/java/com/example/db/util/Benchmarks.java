@@ -0,0 +1,15 @@
+package com.example.db.util;
+
+import org.junit.Assume;
+
+// Benchmarks take seconds each and print numbers nobody reads on CI, so they are skipped
+// unless the build passes -Pbenchmarks, e.g. ./gradlew testDebugUnitTest -Pbenchmarks
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    public static void assumeEnabled() {
+        Assume.assumeTrue("benchmarks run with -Pbenchmarks", Boolean.getBoolean("benchmarks"));
+    }
+}
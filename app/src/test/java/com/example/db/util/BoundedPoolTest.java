@@ -0,0 +1,75 @@
+package com.example.db.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class BoundedPoolTest {
+
+    @Test
+    public void burstQueuesBehindTheThreadLimit() throws InterruptedException {
+        BoundedPool pool = new BoundedPool("test", 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch done = new CountDownLatch(10);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        for (int i = 0; i < 10; i++) {
+            pool.execute(() -> {
+                int now = running.incrementAndGet();
+                peak.accumulateAndGet(now, Math::max);
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(2, pool.getActiveCount());
+        assertEquals(8, pool.getQueueDepth());
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(2, peak.get());
+        waitForCompleted(pool, 10);
+        assertTrue(pool.getMaxWaitNanos() > 0);
+        assertTrue(pool.getMaxWaitNanos() >= pool.getAverageWaitNanos());
+    }
+
+    @Test
+    public void singleThreadPoolRunsTasksInOrder() throws InterruptedException {
+        BoundedPool pool = new BoundedPool("writer", 1);
+        StringBuilder order = new StringBuilder();
+        CountDownLatch done = new CountDownLatch(5);
+
+        for (int i = 0; i < 5; i++) {
+            int index = i;
+            pool.execute(() -> {
+                order.append(index);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("01234", order.toString());
+    }
+
+    private static void waitForCompleted(BoundedPool pool, long count) throws InterruptedException {
+        // The counter is bumped after the task body returns
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (pool.getCompleted() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, pool.getCompleted());
+    }
+}
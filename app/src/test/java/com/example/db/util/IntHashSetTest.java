@@ -0,0 +1,63 @@
+package com.example.db.util;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class IntHashSetTest {
+
+    @Test
+    public void addRemoveAndContains() {
+        IntHashSet set = new IntHashSet();
+        assertTrue(set.add(550));
+        assertFalse(set.add(550));
+        assertTrue(set.add(0));
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(550));
+        assertFalse(set.contains(551));
+        assertEquals(2, set.size());
+
+        assertTrue(set.remove(0));
+        assertFalse(set.remove(0));
+        assertTrue(set.remove(550));
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(550));
+    }
+
+    @Test
+    public void matchesHashSetThroughGrowthAndRemovals() {
+        IntHashSet set = new IntHashSet();
+        Set<Integer> expected = new HashSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            // Dense ids like TMDB's, with enough repeats to exercise removal mid-run
+            int value = random.nextInt(4_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+        }
+        assertEquals(expected.size(), set.size());
+        for (int value = 0; value < 4_000; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+
+    @Test
+    public void copyIsIndependent() {
+        IntHashSet original = new IntHashSet();
+        original.add(1);
+        IntHashSet copy = new IntHashSet(original);
+        copy.add(2);
+        copy.remove(1);
+
+        assertTrue(original.contains(1));
+        assertFalse(original.contains(2));
+        assertEquals("[2]", copy.toString());
+    }
+}
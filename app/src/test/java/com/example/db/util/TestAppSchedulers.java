@@ -0,0 +1,32 @@
+package com.example.db.util;
+
+import io.reactivex.rxjava3.core.Scheduler;
+
+// Runs every lane on one scheduler, usually a TestScheduler the test advances by hand
+public class TestAppSchedulers implements AppSchedulers {
+    private final Scheduler scheduler;
+
+    public TestAppSchedulers(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Scheduler io() {
+        return scheduler;
+    }
+
+    @Override
+    public Scheduler databaseWrite() {
+        return scheduler;
+    }
+
+    @Override
+    public Scheduler computation() {
+        return scheduler;
+    }
+
+    @Override
+    public Scheduler main() {
+        return scheduler;
+    }
+}